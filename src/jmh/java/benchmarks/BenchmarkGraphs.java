@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import utils.dsa.graph.Graph;
+
+/**
+ * Graphs shared by the traveling sales man benchmarks. The same seed always
+ * gives the same weights, so runs of different versions are comparable
+ */
+final class BenchmarkGraphs {
+	static final long SEED = 42;
+
+	private BenchmarkGraphs() {
+	}
+
+	/**
+	 * Complete undirected graph with random weights between 50 and 100, like a
+	 * game round
+	 * 
+	 * @param cities
+	 * @return
+	 */
+	static Graph<String> completeGraph(int cities) {
+		Graph<String> graph = new Graph<String>();
+		Random rand = new Random(SEED);
+		for (int i = 0; i < cities; i++) {
+			for (int j = 0; j < i; j++) {
+				graph.addEdge(city(i), city(j), rand.nextInt(51) + 50, false);
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Destination cities of the graph, every city except the home city
+	 * 
+	 * @param cities
+	 * @return
+	 */
+	static List<String> destinations(int cities) {
+		List<String> destinations = new ArrayList<String>();
+		for (int i = 1; i < cities; i++) {
+			destinations.add(city(i));
+		}
+		return destinations;
+	}
+
+	static String home() {
+		return city(0);
+	}
+
+	private static String city(int index) {
+		return "City " + index;
+	}
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.dsa.branchandbound.BranchAndBound;
+import utils.dsa.bruteforce.BruteForce;
+import utils.dsa.graph.Graph;
+import utils.dsa.tsp.TspResult;
+
+/**
+ * Exact single threaded traveling sales man solvers. Concurrent solves are
+ * measured with the JMH thread count option
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BruteForceBenchmark {
+	@Param({ "6", "8", "10" })
+	public int cities;
+
+	private Graph<String> graph;
+	private List<String> destinations;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		graph = BenchmarkGraphs.completeGraph(cities);
+		destinations = BenchmarkGraphs.destinations(cities);
+	}
+
+	@Benchmark
+	public TspResult<String> bruteForce() {
+		return new BruteForce<String>(graph).solve(BenchmarkGraphs.home(), destinations, null, null);
+	}
+
+	@Benchmark
+	public TspResult<String> branchAndBound() {
+		return new BranchAndBound<String>(graph).solve(BenchmarkGraphs.home(), destinations, null, null);
+	}
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.dsa.ArrayList;
+import utils.dsa.queens.Backtracking;
+import utils.dsa.queens.BitmaskSolver;
+
+/**
+ * Search for every solution of the N queens puzzle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EightQueensBenchmark {
+	@Param({ "8", "10", "12" })
+	public int boardSize;
+
+	@Benchmark
+	public ArrayList<int[]> backtracking() {
+		return new Backtracking(boardSize).calculate();
+	}
+
+	@Benchmark
+	public ArrayList<int[]> bitmask() {
+		return new BitmaskSolver(boardSize).calculate();
+	}
+
+	@Benchmark
+	public long bitmaskCount() {
+		return new BitmaskSolver(boardSize).count();
+	}
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.dsa.hanoi.FrameStewartSolver;
+import utils.dsa.hanoi.HanoiSolver;
+import utils.dsa.hanoi.IterativeSolver;
+import utils.dsa.hanoi.RecursiveSolver;
+
+/**
+ * Every Tower of Hanoi solver with 3 and 4 pegs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HanoiBenchmark {
+	@Param({ "recursive", "iterative", "frameStewart" })
+	public String solverName;
+
+	@Param({ "10", "15", "20" })
+	public int disks;
+
+	private HanoiSolver solver;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		switch (solverName) {
+		case "recursive":
+			solver = new RecursiveSolver();
+			break;
+		case "iterative":
+			solver = new IterativeSolver();
+			break;
+		case "frameStewart":
+			solver = new FrameStewartSolver();
+			break;
+		default:
+			throw new IllegalArgumentException("unknown solver " + solverName);
+		}
+	}
+
+	@Benchmark
+	public List<String> threePegs() {
+		List<String> moves = new ArrayList<String>();
+		solver.solve(disks, 'A', 'C', 'B', moves);
+		return moves;
+	}
+
+	@Benchmark
+	public List<String> fourPegs() {
+		List<String> moves = new ArrayList<String>();
+		solver.solve(disks, 'A', 'D', 'B', 'C', moves);
+		return moves;
+	}
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.dsa.graph.Graph;
+import utils.dsa.heldkarp.HeldKarp;
+import utils.dsa.tsp.TspResult;
+
+/**
+ * Held-Karp on complete graphs, the layers are computed on a pool with the
+ * given number of threads
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HeldKarpBenchmark {
+	@Param({ "10", "14", "18" })
+	public int cities;
+
+	@Param({ "1", "2", "4" })
+	public int threads;
+
+	private Graph<String> graph;
+	private List<String> destinations;
+	private ForkJoinPool pool;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		graph = BenchmarkGraphs.completeGraph(cities);
+		destinations = BenchmarkGraphs.destinations(cities);
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public TspResult<String> solve() {
+		return new HeldKarp<String>(graph, pool).solve(BenchmarkGraphs.home(), destinations, null, null);
+	}
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.dsa.bruteforce2.BruteForce2;
+import utils.dsa.warnsdorff.Warnsdorff;
+
+/**
+ * Knight's tour from the corner of the board. Brute force is limited to small
+ * boards, an 8x8 board does not finish in a benchmark iteration
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KnightTourBenchmark {
+
+	@State(Scope.Thread)
+	public static class WarnsdorffBoard {
+		@Param({ "8", "16", "32" })
+		public int boardSize;
+	}
+
+	@State(Scope.Thread)
+	public static class BruteForceBoard {
+		@Param({ "5", "6" })
+		public int boardSize;
+	}
+
+	@Benchmark
+	public int[][] warnsdorff(WarnsdorffBoard state) {
+		Warnsdorff warnsdorff = new Warnsdorff(state.boardSize);
+		warnsdorff.calculate(0, 0);
+		return warnsdorff.getBoard();
+	}
+
+	@Benchmark
+	public int[][] bruteForce(BruteForceBoard state) {
+		BruteForce2 bruteForce = new BruteForce2(state.boardSize);
+		bruteForce.calculate(0, 0);
+		return bruteForce.getBoard();
+	}
+}
@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import services.TicTacToeAI;
+
+/**
+ * Best move search of the 5x5 tic tac toe AI. The number of filled cells sets
+ * the size of the search tree, every position is past the opening book.
+ * Alpha-beta searches to a fixed depth without a time budget or book, with a
+ * new AI for every search so the transposition table starts empty, and splits
+ * the root moves between the given number of threads. Minimax always searches
+ * to its own depth limit on the calling thread, so it only has the filled cells
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TicTacToeAIBenchmark {
+	private static final int BOARD_SIZE = 5;
+	// moves are played in this order, human first
+	private static final int[][] MOVES = { { 2, 2 }, { 1, 1 }, { 0, 2 }, { 4, 2 }, { 2, 0 }, { 2, 4 }, { 3, 3 },
+			{ 1, 3 } };
+
+	@State(Scope.Thread)
+	public static class AlphaBetaState {
+		@Param({ "4", "6", "8" })
+		public int filledCells;
+
+		@Param({ "4", "6" })
+		public int depth;
+
+		@Param({ "1", "4" })
+		public int threads;
+
+		private ForkJoinPool pool;
+		private TicTacToeAI ai;
+		private char[][] board;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			pool = threads > 1 ? new ForkJoinPool(threads) : null;
+			board = board(filledCells);
+		}
+
+		@Setup(Level.Invocation)
+		public void newAi() {
+			ai = TicTacToeAI.fixedDepth(depth, pool);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			if (pool != null)
+				pool.shutdown();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class MinimaxState {
+		@Param({ "4", "6", "8" })
+		public int filledCells;
+
+		private final TicTacToeAI ai = new TicTacToeAI();
+		private char[][] board;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			board = board(filledCells);
+		}
+	}
+
+	@Benchmark
+	public int[] minimax(MinimaxState state) {
+		return state.ai.getBestMoveWithMinimax(state.board);
+	}
+
+	@Benchmark
+	public int[] alphaBeta(AlphaBetaState state) {
+		return state.ai.getBestMoveWithAlphaBeta(state.board);
+	}
+
+	private static char[][] board(int filledCells) {
+		char[][] board = new char[BOARD_SIZE][BOARD_SIZE];
+		for (char[] row : board) {
+			Arrays.fill(row, ' ');
+		}
+		for (int i = 0; i < filledCells; i++) {
+			board[MOVES[i][0]][MOVES[i][1]] = i % 2 == 0 ? 'X' : 'O';
+		}
+		return board;
+	}
+}
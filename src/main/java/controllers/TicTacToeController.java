@@ -2,10 +2,12 @@ package controllers;
 
 import services.TicTacToeAI;
 import services.TicTacToeService;
+import utils.dsa.tictactoe.SearchResult;
 import views.TicTacToeView;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.ExecutionException;
 
 public class TicTacToeController {
 
@@ -22,6 +24,7 @@ public class TicTacToeController {
     private static final char HUMAN = 'X'; // Human player (X)
     private static final char AI = 'O'; // AI player (O)
     private JFrame frame; // JFrame to hold the view
+    private SwingWorker<SearchResult, Void> computerMove; // Search of the computer's move, null on the player's turn
 
     // Constructor to initialize the controller with view and service
     public TicTacToeController(TicTacToeView view, TicTacToeService service) {
@@ -88,7 +91,7 @@ public class TicTacToeController {
         // Add listener for board button clicks (player's move)
         view.addBoardButtonListener((row, col) -> {
             // Check if the game is over or if the cell is already filled
-            if (!gameOver && board[row][col] == EMPTY) {
+            if (!gameOver && computerMove == null && board[row][col] == EMPTY) {
                 makeMove(row, col, HUMAN); // Make the player's move
                 view.setLastMove(row, col); // Track the last move made by the player
 
@@ -103,7 +106,7 @@ public class TicTacToeController {
                         row,
                         col,
                         useAlphaBeta ? "AlphaBeta" : "Minimax",
-                        0,
+                        null, // No AI search for the player's move
                         true
                     );
                     saveResultToDatabase(playerName); // Save result to database
@@ -117,7 +120,7 @@ public class TicTacToeController {
                     displayGameOver("Draw"); // Display game over message
                 } else if (!gameOver) {
                     view.setStatusLabel("Computer is thinking..."); // Notify player that AI is making a move
-                    SwingUtilities.invokeLater(this::makeComputerMove); // Make computer move in the next event dispatch thread
+                    searchComputerMove(); // Search the computer's move in the background
                 }
             }
         });
@@ -144,20 +147,40 @@ public class TicTacToeController {
         view.updateBoard(board); // Update the view with the new board state
     }
 
-    // Make the computer's move (AI's turn)
-    private void makeComputerMove() {
+    // Search the computer's move on a worker thread, so the player's move is repainted and the window
+    // stays responsive, the move is made on the event dispatch thread when the search is done
+    private void searchComputerMove() {
+        final char[][] searchedBoard = board; // Board of this game, a new game replaces it
+        final boolean alphaBeta = useAlphaBeta; // Algorithm selected when the search starts
+        computerMove = new SwingWorker<SearchResult, Void>() {
+            @Override
+            protected SearchResult doInBackground() {
+                // The board does not change during the search, the player's clicks are ignored until it is done
+                return alphaBeta ? ai.searchWithAlphaBeta(searchedBoard) : ai.searchWithMinimax(searchedBoard);
+            }
+
+            @Override
+            protected void done() {
+                computerMove = null; // The AI can search again
+                if (board != searchedBoard) return; // A new game was started during the search
+                try {
+                    makeComputerMove(get(), alphaBeta ? "AlphaBeta" : "Minimax");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error searching the computer's move: " + e.getCause().getMessage());
+                    view.setStatusLabel("Your turn (" + playerName + ")"); // Let the player try again
+                }
+            }
+        };
+        computerMove.execute();
+    }
+
+    // Make the computer's move (AI's turn) found by the search with the given algorithm
+    private void makeComputerMove(SearchResult search, String algorithm) {
         if (gameOver) return; // If game is over, do nothing
 
-        int[] move; // Array to store AI's move (row, col)
-        long startTime = System.currentTimeMillis(); // Track the time taken for AI move
-        String algorithm = useAlphaBeta ? "AlphaBeta" : "Minimax"; // Get the algorithm being used
-        // Determine the best move based on the selected algorithm
-        if (useAlphaBeta) {
-            move = ai.getBestMoveWithAlphaBeta(board);
-        } else {
-            move = ai.getBestMoveWithMinimax(board);
-        }
-        long timeTaken = System.currentTimeMillis() - startTime; // Calculate the time taken for the move
+        int[] move = search.getMove(); // Array to store AI's move (row, col)
 
         // If the move is valid, make the move on the board
         if (move[0] != -1 && move[1] != -1) {
@@ -175,7 +198,7 @@ public class TicTacToeController {
                     move[0],
                     move[1],
                     algorithm,
-                    timeTaken,
+                    search,
                     true
                 );
                 saveResultToDatabase("Computer"); // Save result to database
@@ -4,22 +4,28 @@ import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JOptionPane;
 import javax.swing.JToggleButton;
+import javax.swing.SwingWorker;
 
 import models.exceptions.DatabaseException;
 import services.TravelingSalesManService;
 import utils.constants.TravelingSalesManConstants;
 import utils.dsa.graph.Edge;
 import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.TspAlgorithm;
+import utils.dsa.tsp.TspResult;
 import views.TravelingSalesManView;
 
 public class TravelingSalesManController {
 	private TravelingSalesManService service;
 	private TravelingSalesManView view;
+	private CancellationToken solveToken;
 
 	/**
 	 * Constructor method for traveling sales man game
@@ -99,6 +105,11 @@ public class TravelingSalesManController {
 			this.findShortestPathBtnAction(this.view.getShortestPathBtn());
 		});
 
+		// cancel button listener
+		this.view.getCancelBtn().addActionListener(event -> {
+			this.cancelBtnAction();
+		});
+
 		// new game button listener
 		this.view.getNewGameBtn().addActionListener(event -> {
 			this.showView();
@@ -229,6 +240,9 @@ public class TravelingSalesManController {
 					}
 				}
 			}
+
+			// show the optimal route of the selected cities so far
+			this.showRoute(this.service.addDestination(this.getSourceVertex(), btn.getName()));
 		} catch (Exception e) {
 			btn.setSelected(false);
 			JOptionPane.showMessageDialog(view, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -248,102 +262,123 @@ public class TravelingSalesManController {
 		}
 
 		// show JOPtionPane algorithm to select algorithm through the user
-		String[] choices = { "Brute Force Algorithm", "Held Karp Algorithm", "Genetic Algorithm" };
+		String[] choices = new String[TspAlgorithm.values().length];
+		for (int i = 0; i < choices.length; i++) {
+			choices[i] = TspAlgorithm.values()[i].getDisplayName();
+		}
 		JComboBox<String> combobox = new JComboBox<String>(choices);
 
 		// according to user selected algorithm find shortest path and find minimum
 		// distance
 		if (JOptionPane.OK_OPTION == JOptionPane.showConfirmDialog(view, combobox, "Select an algorithm",
 				JOptionPane.OK_CANCEL_OPTION)) {
-			switch ((String) combobox.getSelectedItem()) {
-			case "Brute Force Algorithm":
-				useBruteForceAlgorithm();
-				break;
-			case "Held Karp Algorithm":
-				useHeldKarpAlgorithm();
-				break;
-			case "Genetic Algorithm":
-				useGeneticAlgorithm();
-				break;
-			default:
+			try {
+				this.runAlgorithm(TspAlgorithm.fromDisplayName((String) combobox.getSelectedItem()));
+			} catch (IllegalArgumentException e) {
 				JOptionPane.showMessageDialog(view, "select algorithm to find a shortest path", "Alert",
 						JOptionPane.WARNING_MESSAGE);
-				break;
 			}
 		}
 	}
 
 	/**
-	 * call BruteForceAlgorithm
+	 * cancel button actions
 	 */
-	private void useBruteForceAlgorithm() {
-		try {
-			// start time
-			long start = System.nanoTime();
-			// run algorithm
-			this.service.useBruteForceAlgorithm(this.getSourceVertex(), this.getUserSelectedVertices());
-			// end time
-			long end = System.nanoTime();
-
-			// calculate time taken for algorithm
-			long timeTaken = end - start;
-
-			// set selected path and distance
-			this.view.getCalcSelectedPathTxtBx().setText(this.service.getCalculatedPath());
-			this.view.getCalcDistanceTxtBx().setText(String.valueOf(this.service.getCalculatedDistance()));
-			this.showResult("BruteForce Algorithm", timeTaken);
-		} catch (Exception e) {
-			JOptionPane.showMessageDialog(view, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-		}
+	private void cancelBtnAction() {
+		if (this.solveToken != null)
+			this.solveToken.cancel();
 	}
 
 	/**
-	 * call HeldKarp algorithm
+	 * Run an algorithm on a background worker. Better routes found while the
+	 * algorithm runs are shown in the computed path and distance boxes, and the
+	 * cancel button stops the algorithm with the best route found so far
+	 * 
+	 * @param algorithm
 	 */
-	private void useHeldKarpAlgorithm() {
-		try {
-			// start time
-			long start = System.nanoTime();
-
-			// run algorithm
-			List<String> userSelectedVertices = this.getUserSelectedVertices();
-			userSelectedVertices.add(0, this.getSourceVertex());
-			this.service.useHeldKarpAlgorithm(userSelectedVertices);
-
-			// calculate time taken for algorithm
-			long end = System.nanoTime();
-			long timeTaken = end - start;
-
-			// set selected path and distance
-			this.view.getCalcSelectedPathTxtBx().setText(this.service.getCalculatedPath());
-			this.view.getCalcDistanceTxtBx().setText(String.valueOf(this.service.getCalculatedDistance()));
-			this.showResult("Held Karp Algorithm", timeTaken);
-		} catch (Exception e) {
-			JOptionPane.showMessageDialog(view, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-		}
+	private void runAlgorithm(TspAlgorithm algorithm) {
+		String sourceVertex = this.getSourceVertex();
+		List<String> userSelectedVertices = this.getUserSelectedVertices();
+		// the worker gets a snapshot of the incremental table instead of reading it
+		TspResult<String> known = this.service.getIncrementalResult(algorithm, sourceVertex, userSelectedVertices);
+		CancellationToken token = new CancellationToken();
+		this.solveToken = token;
+		this.setSolving(true);
+
+		SwingWorker<TspResult<String>, TspResult<String>> worker = new SwingWorker<TspResult<String>, TspResult<String>>() {
+			private long timeTaken;
+
+			@Override
+			protected TspResult<String> doInBackground() {
+				// start time
+				long start = System.nanoTime();
+				// run algorithm
+				TspResult<String> result = service.solve(algorithm, sourceVertex, userSelectedVertices, known,
+						token, this::publish);
+				// calculate time taken for algorithm
+				timeTaken = System.nanoTime() - start;
+				return result;
+			}
+
+			@Override
+			protected void process(List<TspResult<String>> chunks) {
+				// only the latest best route is shown
+				if (token == solveToken)
+					showRoute(chunks.get(chunks.size() - 1));
+			}
+
+			@Override
+			protected void done() {
+				// a new game round was started while the algorithm was running
+				if (token != solveToken)
+					return;
+				solveToken = null;
+				setSolving(false);
+
+				try {
+					TspResult<String> result = this.get();
+					showRoute(result);
+					if (result.isComplete()) {
+						showResult(algorithm.getDisplayName(), timeTaken);
+					} else {
+						JOptionPane.showMessageDialog(view, "calculation is cancelled", "Alert",
+								JOptionPane.WARNING_MESSAGE);
+					}
+				} catch (ExecutionException e) {
+					JOptionPane.showMessageDialog(view, e.getCause().getMessage(), "Error",
+							JOptionPane.ERROR_MESSAGE);
+				} catch (Exception e) {
+					JOptionPane.showMessageDialog(view, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		};
+		worker.execute();
 	}
 
 	/**
-	 * call genetic algorithm
+	 * Show a route and its distance in the computed path and distance boxes
+	 * 
+	 * @param result
 	 */
-	private void useGeneticAlgorithm() {
-		try {
-			// start time
-			long start = System.nanoTime();
-			// run algorithm
-			this.service.useGeneticAlgorithm(this.getSourceVertex(), this.getUserSelectedVertices());
-			// end time
-			long end = System.nanoTime();
-
-			// calculate the time taken for algorithm
-			long timeTaken = end - start;
-
-			// set the selected path and distance
-			this.view.getCalcSelectedPathTxtBx().setText(this.service.getCalculatedPath());
-			this.view.getCalcDistanceTxtBx().setText(String.valueOf(this.service.getCalculatedDistance()));
-			this.showResult("Genetic Algorithm", timeTaken);
-		} catch (Exception e) {
-			JOptionPane.showMessageDialog(view, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+	private void showRoute(TspResult<String> result) {
+		this.view.getCalcSelectedPathTxtBx().setText(this.service.bestRouteToString(result.getRoute()));
+		this.view.getCalcDistanceTxtBx().setText(String.valueOf(result.getDistance()));
+	}
+
+	/**
+	 * Enable the cancel button only while an algorithm is running. Cities can not
+	 * be selected while it runs, so the selected route does not change under it
+	 * 
+	 * @param solving
+	 */
+	private void setSolving(boolean solving) {
+		this.view.getShortestPathBtn().setEnabled(!solving);
+		this.view.getCancelBtn().setEnabled(solving);
+		for (JToggleButton btn : this.view.getSourceCitiesBtn()) {
+			btn.setEnabled(!solving);
+		}
+		for (JToggleButton btn : this.view.getDestinationCitiesBtn()) {
+			btn.setEnabled(!solving);
 		}
 	}
 
@@ -402,6 +437,11 @@ public class TravelingSalesManController {
 	 * clear game window
 	 */
 	private void clearWindow() {
+		// stop the running algorithm of the old round
+		this.cancelBtnAction();
+		this.solveToken = null;
+		this.setSolving(false);
+
 		// remove action listeners, selections from source buttons
 		for (JToggleButton btn : this.view.getSourceCitiesBtn()) {
 			btn.setSelected(false);
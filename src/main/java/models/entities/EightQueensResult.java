@@ -5,7 +5,10 @@ package models.entities;
 
 import org.bson.types.ObjectId;
 import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Field;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Index;
+import dev.morphia.annotations.Indexes;
 import java.util.Date;
 import java.util.Arrays;
 
@@ -13,6 +16,12 @@ import java.util.Arrays;
  * 
  */
 @Entity("eightqueensresults")
+// solutions are loaded by algorithm, claimed by positions and reset by recognition
+@Indexes({
+	@Index(fields = @Field("algorithmType")),
+	@Index(fields = { @Field("positions"), @Field("isRecognized") }),
+	@Index(fields = @Field("isRecognized"))
+})
 public class EightQueensResult {
 	@Id
 	private ObjectId id;
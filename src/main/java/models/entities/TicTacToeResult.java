@@ -1,14 +1,23 @@
 package models.entities;
 
 import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Field;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Index;
+import dev.morphia.annotations.Indexes;
 import org.bson.types.ObjectId;
 
 import java.util.Date;
 
 // The @Entity annotation marks this class as a Morphia entity
 // "tictactoe_results" is the name of the MongoDB collection where instances of this class will be stored
+// The compound indexes serve the statistics pipelines: the average time matches on algorithmType and only
+// reads timeTakenMs, the win rate matches on playerName and only reads isWin
 @Entity("tictactoe_results")
+@Indexes({
+    @Index(fields = {@Field("algorithmType"), @Field("timeTakenMs")}),
+    @Index(fields = {@Field("playerName"), @Field("isWin")})
+})
 public class TicTacToeResult {
     
     // The @Id annotation marks this field as the primary key (unique identifier) in the MongoDB collection
@@ -27,6 +36,16 @@ public class TicTacToeResult {
     
     // Time taken for the AI to make its move, in milliseconds
     private long timeTakenMs;
+
+    // Time taken for the AI to make its move, in nanoseconds
+    private long timeTakenNanos;
+
+    // Statistics of the AI search: positions searched, pruned branches,
+    // transposition table hits and the depth reached below the move
+    private long nodes;
+    private long cutoffs;
+    private long tableHits;
+    private int searchDepth;
     
     // Timestamp of when the result was recorded
     private Date timestamp;
@@ -51,6 +70,18 @@ public class TicTacToeResult {
         this.isWin = isWin;            // Set whether the player won the game
     }
 
+    // Constructor to initialize the TicTacToeResult object with the statistics of the AI search
+    public TicTacToeResult(String playerName, int moveRow, int moveCol, String algorithmType,
+                          long timeTakenNanos, long nodes, long cutoffs, long tableHits,
+                          int searchDepth, boolean isWin) {
+        this(playerName, moveRow, moveCol, algorithmType, timeTakenNanos / 1_000_000, isWin);
+        this.timeTakenNanos = timeTakenNanos;  // Set the exact time taken for the AI to make the move
+        this.nodes = nodes;              // Set the number of positions searched
+        this.cutoffs = cutoffs;          // Set the number of pruned branches
+        this.tableHits = tableHits;      // Set the number of transposition table hits
+        this.searchDepth = searchDepth;  // Set the depth reached by the search
+    }
+
     // Getter and setter methods for each field
     public ObjectId getId() { 
         return id; 
@@ -100,6 +131,46 @@ public class TicTacToeResult {
         this.timeTakenMs = timeTakenMs; 
     }
     
+    public long getTimeTakenNanos() { 
+        return timeTakenNanos; 
+    }
+
+    public void setTimeTakenNanos(long timeTakenNanos) { 
+        this.timeTakenNanos = timeTakenNanos; 
+    }
+
+    public long getNodes() { 
+        return nodes; 
+    }
+
+    public void setNodes(long nodes) { 
+        this.nodes = nodes; 
+    }
+
+    public long getCutoffs() { 
+        return cutoffs; 
+    }
+
+    public void setCutoffs(long cutoffs) { 
+        this.cutoffs = cutoffs; 
+    }
+
+    public long getTableHits() { 
+        return tableHits; 
+    }
+
+    public void setTableHits(long tableHits) { 
+        this.tableHits = tableHits; 
+    }
+
+    public int getSearchDepth() { 
+        return searchDepth; 
+    }
+
+    public void setSearchDepth(int searchDepth) { 
+        this.searchDepth = searchDepth; 
+    }
+
     public Date getTimestamp() { 
         return timestamp; 
     }
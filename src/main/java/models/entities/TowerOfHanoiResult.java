@@ -2,9 +2,17 @@ package models.entities;
 
 import org.bson.types.ObjectId;
 import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Field;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Index;
+import dev.morphia.annotations.Indexes;
 
 @Entity("towerOfHanoiResults")
+// timing results are filtered by disk count, by disk count and peg count, or by peg count alone
+@Indexes({
+    @Index(fields = {@Field("diskCount"), @Field("pegCount")}),
+    @Index(fields = @Field("pegCount"))
+})
 public class TowerOfHanoiResult {
     @Id
     private ObjectId id;
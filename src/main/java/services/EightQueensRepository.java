@@ -0,0 +1,114 @@
+package services;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.updates.UpdateOperators.set;
+import static dev.morphia.query.updates.UpdateOperators.unset;
+
+import java.util.Date;
+import java.util.List;
+
+import dev.morphia.Datastore;
+import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.query.FindOptions;
+import models.entities.EightQueensResult;
+import utils.dsa.ArrayList;
+
+/**
+ * Batched persistence of Eight Queens results. Every method is one or two
+ * round trips to the database however many solutions it touches: solutions
+ * are inserted with one unordered bulk write and recognitions are changed with
+ * update queries instead of loading and saving each document
+ */
+public class EightQueensRepository {
+	private Datastore datastore;
+
+	/**
+	 * initialize the repository on a datastore
+	 *
+	 * @param datastore
+	 */
+	public EightQueensRepository(Datastore datastore) {
+		if (datastore == null)
+			throw new IllegalArgumentException("datastore should not be null");
+		this.datastore = datastore;
+	}
+
+	/**
+	 * Stored solutions of an algorithm
+	 *
+	 * @param algorithmType
+	 * @return
+	 */
+	public List<EightQueensResult> findSolutions(String algorithmType) {
+		return datastore.find(EightQueensResult.class).filter(eq("algorithmType", algorithmType)).iterator().toList();
+	}
+
+	/**
+	 * Positions of every recognized result
+	 *
+	 * @return
+	 */
+	public List<int[]> findRecognizedPositions() {
+		List<int[]> positions = new java.util.ArrayList<>();
+		for (EightQueensResult result : datastore.find(EightQueensResult.class).filter(eq("isRecognized", true))
+				.iterator(new FindOptions().projection().include("positions")).toList()) {
+			if (result.getPositions() != null)
+				positions.add(result.getPositions());
+		}
+		return positions;
+	}
+
+	/**
+	 * Replace the stored solutions of an algorithm, one delete and one unordered
+	 * bulk insert
+	 *
+	 * @param algorithmType
+	 * @param solutions
+	 * @param timeTaken
+	 */
+	public void replaceSolutions(String algorithmType, ArrayList<int[]> solutions, long timeTaken) {
+		if (solutions == null)
+			throw new IllegalArgumentException("solutions should not be null");
+
+		datastore.find(EightQueensResult.class).filter(eq("algorithmType", algorithmType))
+				.delete(new DeleteOptions().multi(true));
+
+		Date now = new Date();
+		List<EightQueensResult> results = new java.util.ArrayList<>(solutions.size());
+		for (int i = 0; i < solutions.size(); i++) {
+			results.add(new EightQueensResult(solutions.get(i), null, timeTaken, algorithmType, false, now));
+		}
+		if (!results.isEmpty())
+			datastore.save(results, new InsertManyOptions().ordered(false));
+	}
+
+	/**
+	 * Mark the first not yet recognized result of a solution as recognized by a
+	 * player. The filter and the update run as one query, so two players can not
+	 * both claim the same result
+	 *
+	 * @param positions
+	 * @param playerName
+	 * @return true if a result is claimed
+	 */
+	public boolean claimSolution(int[] positions, String playerName) {
+		return datastore.find(EightQueensResult.class)
+				.filter(eq("positions", positions), eq("isRecognized", false))
+				.update(new UpdateOptions(), set("isRecognized", true), set("playerName", playerName),
+						set("timestamp", new Date()))
+				.getModifiedCount() > 0;
+	}
+
+	/**
+	 * Clear the recognition of every recognized result with one update
+	 *
+	 * @return number of results changed
+	 */
+	public long resetRecognized() {
+		return datastore.find(EightQueensResult.class).filter(eq("isRecognized", true))
+				.update(new UpdateOptions().multi(true), set("isRecognized", false), unset("playerName"))
+				.getModifiedCount();
+	}
+}
@@ -5,18 +5,18 @@ package services;
 
 import models.entities.EightQueensResult;
 import utils.DatabaseConnection;
+import utils.ResultWriter;
 import utils.dsa.ArrayList;
-import utils.dsa.HashSet;
+import utils.dsa.queens.BitmaskSolver;
+import utils.dsa.queens.RecognitionIndex;
 
-import dev.morphia.Datastore;
-import dev.morphia.DeleteOptions;
 import models.exceptions.DatabaseException;
 
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * service class for Eight Queens puzzle game
@@ -25,194 +25,128 @@ public class EightQueensService {
 	
 	// 8*8 chessboard
 	private static final int SIZE = 8;
+	// one worker, the sequential search runs the same bitmask search without parallelism
+	private static final ForkJoinPool SEQUENTIAL_POOL = new ForkJoinPool(1);
 	//store all solutions
 	private ArrayList<int[]> solutions;
-	// for duplicate solution checking
-	private HashSet<String> solutionSet;
-	private Datastore datastore;
+	// recognized bit of every solution, claims are written to the database asynchronously
+	private volatile RecognitionIndex index;
+	// single writer thread, so database writes keep the order of the claims
+	private ExecutorService writer;
+	// batched reads and writes of the results
+	private EightQueensRepository repository;
+	// workers of the threaded search
+	private ForkJoinPool pool;
 	
 	public EightQueensService(){
+		this(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * create the service with the pool used by the threaded search
+	 * 
+	 * @param pool
+	 */
+	public EightQueensService(ForkJoinPool pool){
+		if (pool == null)
+			throw new IllegalArgumentException("pool should not be null");
+		this.pool = pool;
         try {
             solutions = new ArrayList<>();
-            solutionSet = new HashSet<>();
-            datastore = DatabaseConnection.getInstance().getDatastore();
+            index = new RecognitionIndex(SIZE, solutions);
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "eight-queens-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            repository = new EightQueensRepository(DatabaseConnection.getInstance().getDatastore());
         } catch (DatabaseException e) {
             throw new RuntimeException("Database error in EightQueensService: " + e.getMessage(), e);
         }
 	}
 	
 	/*
-	 * Find all solutions using sequential backtracking
-	 * and save it in database with time
+	 * Find all solutions using the bitmask search on one worker
+	 * and save it in database with time, the threaded search
+	 * only differs by its pool
 	 */
 	
 	public long findAllSolutionsSequential() {
-	    // First check if solutions exist in DB
-	    if (datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Sequential")
-	            .count() >= 92) {
+	    // First check if solutions exist in DB, loaded with one query
+	    List<EightQueensResult> results = repository.findSolutions("Sequential");
+	    if (results.size() >= 92) {
 	        
 	        // Clear existing in-memory data
 	        solutions = new ArrayList<>();
-	        solutionSet = new HashSet<>();
 	        
-	        // Get time from database first (more efficient than loading all solutions)
-	        EightQueensResult timeResult = datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Sequential")
-	            .first();
-	        long timeTaken = timeResult != null ? timeResult.getTimeTaken() : 0;
+	        // Every stored solution has the time of the search
+	        long timeTaken = results.get(0).getTimeTaken();
 	        
-	        // Load solutions
-	        List<EightQueensResult> results = datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Sequential")
-	            .iterator().toList();
-	            
 	        for (EightQueensResult result : results) {
 	            if (result.getPositions() != null) {
 	                solutions.add(result.getPositions());
-	                solutionSet.add(serialize(result.getPositions()));
 	            }
 	        }
+	        this.buildIndex();
 	        return timeTaken;
 	    } else {
 	        // Generate and save solutions
 	        solutions = new ArrayList<>();
-	        solutionSet = new HashSet<>();
-	        long start = System.currentTimeMillis();
-	        solve(0, new int[SIZE]);
-	        long end = System.currentTimeMillis();
-	        long timeTaken = end - start;
-	        
-	        // Clear any existing solutions before saving
-	        datastore.delete(datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Sequential"));
-	            
-	        // Save new solutions
-	        for (int i = 0; i < solutions.size(); i++) {
-	            EightQueensResult result = new EightQueensResult(
-	                solutions.get(i),
-	                null,
-	                timeTaken,
-	                "Sequential",
-	                false,
-	                new Date()
-	            );
-	            datastore.save(result);
-	            
+	        long start = System.nanoTime();
+	        ArrayList<int[]> found = new BitmaskSolver(SIZE, SEQUENTIAL_POOL).calculate();
+	        for (int i = 0; i < found.size(); i++) {
+	            solutions.add(found.get(i));
 	        }
+	        long timeTaken = (System.nanoTime() - start) / 1_000_000;
+	        
+	        // Replace the stored solutions with one delete and one bulk insert
+	        repository.replaceSolutions("Sequential", solutions, timeTaken);
+	        this.buildIndex();
 	        return timeTaken;
 	    }
 	}
 
 
 	
-	//recursive backtracking helper
-	private void solve(int column, int[] board) {
-		if(column == SIZE) {
-			int[] solution = board.clone();
-			String key = serialize(solution);
-			if(!solutionSet.contains(key)) {
-				solutions.add(solution);
-				solutionSet.add(key);
-			}
-			return;
-		}
-		for(int row = 0; row < SIZE; row++) {
-			if(isSafe(board, column, row)) {
-				board[column] = row;
-				solve(column + 1, board);
-			}
-			if (solutions.size() == 92) return;
-		}
-	}
-	
-	// check place if can not attack queens each other
-	private boolean isSafe(int[] board, int column, int row) {
-		for(int b = 0; b < column; b++) {
-			int a = board[b];
-			if(a == row || Math.abs(a - row) == Math.abs(b - column)) {
-				return false;
-			}
-		}
-		return true;
-	}
-	
 	/*
-	 * Find all solution using Multi-threaded backtracking
-	 * and save it in database with time 
+	 * Find all solution using Multi-threaded bitmask search
+	 * and save it in database with time. Work is split by the
+	 * rows of the first two columns between the pool workers
 	 */
 	
 	public long findAllSolutionsThreaded() {
-	    // First check if solutions exist in DB
-	    if (datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Threaded")
-	            .count() >= 92) {
+	    // First check if solutions exist in DB, loaded with one query
+	    List<EightQueensResult> results = repository.findSolutions("Threaded");
+	    if (results.size() >= 92) {
 	        
 	        // Clear existing in-memory data
 	        solutions = new ArrayList<>();
-	        solutionSet = new HashSet<>();
 	        
-	        // Get time from database first (more efficient)
-	        EightQueensResult timeResult = datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Threaded")
-	            .first();
-	        long timeTaken = timeResult != null ? timeResult.getTimeTaken() : 0;
+	        // Every stored solution has the time of the search
+	        long timeTaken = results.get(0).getTimeTaken();
 	        
-	        // Load solutions
-	        List<EightQueensResult> results = datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Threaded")
-	            .iterator().toList();
-	            
 	        for (EightQueensResult result : results) {
 	            if (result.getPositions() != null) {
 	                solutions.add(result.getPositions());
-	                solutionSet.add(serialize(result.getPositions()));
 	            }
 	        }
+	        this.buildIndex();
 	        return timeTaken;
 	    } else {
 	        // Generate and save solutions
 	        solutions = new ArrayList<>();
-	        solutionSet = new HashSet<>();
-	        
-	        long start = System.currentTimeMillis();
-	        ExecutorService executor = Executors.newFixedThreadPool(SIZE);
 	        
-	        for (int row = 0; row < SIZE; row++) {
-	            final int startRow = row;
-	            executor.submit(() -> {
-	                int[] board = new int[SIZE];
-	                board[0] = startRow;
-	                solve(1, board);
-	            });
+	        // every fork join task fills its own buffer, they are merged after the search
+	        long start = System.nanoTime();
+	        ArrayList<int[]> found = new BitmaskSolver(SIZE, pool).calculate();
+	        for (int i = 0; i < found.size(); i++) {
+	            solutions.add(found.get(i));
 	        }
+	        long timeTaken = (System.nanoTime() - start) / 1_000_000;
 	        
-	        executor.shutdown();
-	        try {
-	            executor.awaitTermination(1, TimeUnit.MINUTES);
-	        } catch (InterruptedException e) {
-	            Thread.currentThread().interrupt();
-	        }
-	        
-	        long end = System.currentTimeMillis();
-	        long timeTaken = end - start;
-	        
-	        // Clear any existing solutions before saving
-	        datastore.delete(datastore.find(EightQueensResult.class)
-	            .filter("algorithmType", "Threaded"));
-	            
-	        // Save new solutions
-	        for (int i = 0; i < solutions.size(); i++) {
-	            EightQueensResult result = new EightQueensResult(
-	                solutions.get(i),
-	                null,
-	                timeTaken,
-	                "Threaded",
-	                false,
-	                new Date()
-	            );
-	            datastore.save(result);
-	        }
+	        // Replace the stored solutions with one delete and one bulk insert
+	        repository.replaceSolutions("Threaded", solutions, timeTaken);
+	        this.buildIndex();
 	        return timeTaken;
 	    }
 	}
@@ -220,19 +154,20 @@ public class EightQueensService {
 
 	
 	/*
-	 * Serialize solution to string for use in hash set
+	 * Index the current solutions and mark the solutions
+	 * recognized in the database, loaded with one query
 	 */
 	
-	private String serialize(int[] board) {
-	    if (board == null) {
-	        return "";  
-	    }
-		StringBuilder sb = new StringBuilder();
-		for(int i = 0; i < board.length; i++) {
-			sb.append(board[i]);
-			if(i < board.length - 1) sb.append(",");
+	private void buildIndex() {
+		// claims still queued on the writer thread would be missing from the query
+		this.flush();
+		RecognitionIndex built = new RecognitionIndex(SIZE, solutions);
+		for (int[] positions : repository.findRecognizedPositions()) {
+			int id = built.indexOf(positions);
+			if (id != RecognitionIndex.NOT_FOUND)
+				built.recognize(id);
 		}
-		return sb.toString();
+		index = built;
 	}
 
 	
@@ -243,30 +178,26 @@ public class EightQueensService {
      */
 	
 	public boolean validatePlayerSolution(int[] positions) {
-		String key = serialize(positions);
-		return solutionSet.contains(key);
+		return index.indexOf(positions) != RecognitionIndex.NOT_FOUND;
 	}
 
 	
 	/**
-	 * Save player's correct solution in database
+	 * Save player's correct solution in database. The solution is
+	 * recognized in memory at once and written by the writer thread
 	 */
 	
 	public void savePlayerSolution(int[] positions, String playerName ) {
-		String key = serialize(positions);
-		if(!solutionSet.contains(key))
+		// the id belongs to this index, a new round can replace the index
+		RecognitionIndex current = index;
+		int id = current.indexOf(positions);
+		if(id == RecognitionIndex.NOT_FOUND)
 			return;  // not valid solution
 		
-		// find and update result
-		EightQueensResult result = datastore.find(EightQueensResult.class)
-				.filter("positions", positions)
-				.first();
-		if(result != null && !result.isRecognized()) {
-			result.setPlayerName(playerName);
-			//result.setTimeTaken(timeTaken);
-			result.setRecognized(true);
-			result.setTimestamp(new Date());
-			datastore.save(result);
+		// only the first claim of a solution is written, a claim that can not be written is taken back
+		if(current.recognize(id)) {
+			int[] claimed = positions.clone();
+			this.write(() -> repository.claimSolution(claimed, playerName), () -> current.unrecognize(id));
 		}
 	}
 	
@@ -275,10 +206,9 @@ public class EightQueensService {
 	 */
 	
 	public boolean isSolutionRecognized(int[] positions) {
-		EightQueensResult result = datastore.find(EightQueensResult.class)
-				.filter("positions", positions)
-				.first();
-		return result != null && result.isRecognized();
+		RecognitionIndex current = index;
+		int id = current.indexOf(positions);
+		return id != RecognitionIndex.NOT_FOUND && current.isRecognized(id);
 	}
 	
 	/*
@@ -286,14 +216,15 @@ public class EightQueensService {
 	 */
 	
 	public void resetAllRecognizedSolutions() {
-	    // Fetch ALL solutions from the database
-	    List<EightQueensResult> allResults = datastore.find(EightQueensResult.class).iterator().toList();
-	    
-	    for (EightQueensResult result : allResults) {
-	        result.setRecognized(false);
-	        result.setPlayerName(null);
-	        datastore.save(result);
-	    }
+	    RecognitionIndex current = index;
+	    int[] cleared = current.clear();
+	    // Clear every recognition with one update instead of saving each result,
+	    // the recognitions come back if the update can not be written
+	    this.write(repository::resetRecognized, () -> {
+	        for (int id : cleared) {
+	            current.recognize(id);
+	        }
+	    });
 	}
 
 	
@@ -302,13 +233,52 @@ public class EightQueensService {
 	 */
 	
 	public int getSolutionCount() {
-		int recognizedCount = 0;
-		for(EightQueensResult result : datastore.find(EightQueensResult.class)) {
-			if(result.isRecognized()) {
-				recognizedCount++;
+		return index.getRecognizedCount();
+	}
+	
+	/*
+	 * run a database write on the writer thread. A failed write is
+	 * retried with the backoff of the result writer, then reported and
+	 * rolled back in memory, so the index keeps matching the database.
+	 * Later writes wait for the retries to keep the order of the claims
+	 */
+	
+	private void write(Runnable write, Runnable rollback) {
+		writer.execute(() -> {
+			for (int attempt = 0;; attempt++) {
+				try {
+					write.run();
+					return;
+				} catch (Exception e) {
+					if (attempt >= ResultWriter.DEFAULT_RETRIES) {
+						System.err.println("Error writing Eight Queens result: " + e.getMessage());
+						rollback.run();
+						return;
+					}
+				}
+				try {
+					Thread.sleep(ResultWriter.DEFAULT_BACKOFF_MS << attempt);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					rollback.run();
+					return;
+				}
 			}
+		});
+	}
+	
+	/**
+	 * Wait until every database write submitted before is done
+	 */
+	
+	public void flush() {
+		try {
+			writer.submit(() -> { }).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
 		}
-		return recognizedCount;
 	}
 	
 	/*
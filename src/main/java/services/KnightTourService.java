@@ -28,14 +28,15 @@ public class KnightTourService {
 	}
 
 	/**
-	 * save data into the database
+	 * save data into the database, the result is queued and saved in the
+	 * background
 	 * 
 	 * @throws DatabaseException
 	 */
 	public void saveResult(String playerName, String algorithm, List<Position> path, long timeTaken)
 			throws DatabaseException {
 		DatabaseConnection dc = DatabaseConnection.getInstance();
-		dc.getDatastore().save(new KnightTourResult(playerName, algorithm, path, timeTaken));
+		dc.getResultWriter().submit(new KnightTourResult(playerName, algorithm, path, timeTaken));
 	}
 
 	/**
@@ -1,73 +1,147 @@
 package services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import utils.dsa.tictactoe.AlphaBetaSearch;
+import utils.dsa.tictactoe.BitBoard;
+import utils.dsa.tictactoe.Evaluation;
+import utils.dsa.tictactoe.OpeningBook;
+import utils.dsa.tictactoe.SearchResult;
+import utils.dsa.tictactoe.TranspositionTable;
+import utils.dsa.tictactoe.ZobristHash;
+
 public class TicTacToeAI {
-    private static final int BOARD_SIZE = 5; // Size of the Tic-Tac-Toe board (5x5)
     private static final char EMPTY = ' ';   // Character representing an empty space
     private static final char HUMAN = 'X';   // Character representing the human player
     private static final char AI = 'O';      // Character representing the AI player
-    
-    private static final int MAX_DEPTH = 4;   // Limit the depth of the search tree to reduce thinking time
+
+    static final int MAX_DEPTH = 4;   // Limit the depth of the Minimax search tree to reduce thinking time
+    static final int ALPHA_BETA_MAX_DEPTH = BitBoard.CELLS - 1; // Alpha-Beta deepens until the time budget or the full board stops it
+    public static final long DEFAULT_TIME_BUDGET_MS = 500; // Alpha-Beta returns the deepest completed search after this time
+    public static final int GAME_MAX_DEPTH = 6; // Depth limit of the game's Alpha-Beta, reached well before the time budget
+    private static final long NO_TIME_BUDGET = Long.MAX_VALUE; // A fixed depth search is never stopped by time
+    private static final long TIME_UP = Long.MIN_VALUE; // Root search result when the time budget runs out
+    private static final int AI_PLAYER = ZobristHash.FIRST_PLAYER;     // The AI's marks are the first player of the evaluation
+    private static final int HUMAN_PLAYER = ZobristHash.SECOND_PLAYER; // The human's marks are the second player
+
+    private final Evaluation evaluation = new Evaluation(); // Open lines of the position searched by Minimax
+    private final TranspositionTable table = new TranspositionTable(); // Alpha-Beta results of searched positions, shared by the workers
+    private final long timeBudgetMillis; // Time limit of one Alpha-Beta move
+    private final ForkJoinPool pool;     // Workers of the parallel root search, null searches on the calling thread
+    private final int maxDepth;          // Depth limit of the Alpha-Beta search
+    private final OpeningBook book;      // Precomputed moves of early positions, null searches every position
+    private AlphaBetaSearch[] searches = new AlphaBetaSearch[0]; // Search state of every worker, kept between moves for the history scores
+    private long minimaxNodes; // Positions reached by the current Minimax search
+
+    // Create the AI of the game, Alpha-Beta stops at GAME_MAX_DEPTH so the time of a move is the cost of its search,
+    // the default time budget only bounds a slow machine
+    public TicTacToeAI() {
+        this(DEFAULT_TIME_BUDGET_MS, null, GAME_MAX_DEPTH, OpeningBook.getDefault());
+    }
+
+    // Create the AI with the time budget of one Alpha-Beta move in milliseconds
+    public TicTacToeAI(long timeBudgetMillis) {
+        this(timeBudgetMillis, null);
+    }
+
+    // Create the AI that splits the Alpha-Beta root moves between the threads of the pool. The time budget ends the
+    // search, so the depth it completes and the move depend on the machine load, use fixedDepth for repeatable moves
+    public TicTacToeAI(long timeBudgetMillis, ForkJoinPool pool) {
+        this(timeBudgetMillis, pool, ALPHA_BETA_MAX_DEPTH, OpeningBook.getDefault()); // Book positions are answered without a search
+    }
+
+    // Create the AI that always searches every position to the given depth, without a time budget or opening book,
+    // so the cost of the search does not depend on the machine load
+    public static TicTacToeAI fixedDepth(int maxDepth, ForkJoinPool pool) {
+        if (maxDepth < 1) throw new IllegalArgumentException("max depth should be positive");
+        return new TicTacToeAI(NO_TIME_BUDGET, pool, maxDepth, null);
+    }
+
+    // Create the AI with another depth limit and opening book, the book generator searches deeper without a book
+    TicTacToeAI(long timeBudgetMillis, ForkJoinPool pool, int maxDepth, OpeningBook book) {
+        if (timeBudgetMillis <= 0) throw new IllegalArgumentException("time budget should be positive");
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.pool = pool;
+        this.maxDepth = maxDepth;
+        this.book = book;
+    }
+
+    // The search runs on bitboards: one 25 bit mask per player, bit i * 5 + j is cell (i, j),
+    // so walking the set bits of the empty mask visits cells in the same row-major order as before.
+    // Alpha-Beta searches the cells in a better order but still keeps the first best cell in row-major order
 
     // Method to get the best move using Minimax algorithm
     public int[] getBestMoveWithMinimax(char[][] board) {
-        long startTime = System.currentTimeMillis(); // Record the start time
-        int[] bestMove = new int[]{-1, -1}; // Store the best move
+        return searchWithMinimax(board).getMove();
+    }
+
+    // Search the best move using Minimax algorithm, the result has the statistics of the search
+    public SearchResult searchWithMinimax(char[][] board) {
+        long startTime = System.nanoTime(); // Record the start time
+        int aiMask = BitBoard.toMask(board, AI);
+        int humanMask = BitBoard.toMask(board, HUMAN);
+        int empty = BitBoard.empty(aiMask | humanMask);
+        int bestCell = SearchResult.NO_CELL; // Store the best move
         int bestScore = Integer.MIN_VALUE;  // Initialize best score to a very low value
-        
-        // Loop through all cells in the board
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j] == EMPTY) {  // Only consider empty cells
-                    board[i][j] = AI;  // Try the AI's move
-                    int score = minimax(board, 0, false);  // Get the score from Minimax
-                    board[i][j] = EMPTY;  // Undo the move
-
-                    // Update best move if a better score is found
-                    if (score > bestScore) {
-                        bestScore = score;
-                        bestMove[0] = i;
-                        bestMove[1] = j;
-                    }
-                }
+        boolean finished = BitBoard.isWin(aiMask) || BitBoard.isWin(humanMask);
+        evaluation.reset(aiMask, humanMask); // Count the marks on every line
+        minimaxNodes = 0;
+
+        // Loop through all empty cells in the board
+        for (int remaining = empty; remaining != 0; remaining &= remaining - 1) {
+            int cell = Integer.numberOfTrailingZeros(remaining);
+            // A finished board has the same score for every move, so the first empty cell is kept
+            evaluation.play(AI_PLAYER, cell); // Try the AI's move
+            int score = finished ? 0 : minimax(aiMask | (1 << cell), humanMask, cell, 0, false);
+            evaluation.undo(AI_PLAYER, cell); // Undo the move
+
+            // Update best move if a better score is found
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = cell;
             }
         }
-        
-        long timeTaken = System.currentTimeMillis() - startTime; // Calculate the time taken for the move
-        System.out.println("Minimax time: " + timeTaken + "ms"); // Print the time taken
-        return bestMove; // Return the best move
-    }
-
-    // Minimax algorithm to calculate the best possible move
-    private int minimax(char[][] board, int depth, boolean isMaximizing) {
-        // Base cases
-        if (checkWin(board, AI)) return 10 - depth; // AI wins, return positive score
-        if (checkWin(board, HUMAN)) return depth - 10; // Human wins, return negative score
-        if (isBoardFull(board) || depth >= MAX_DEPTH) return 0; // Draw or max depth reached, return 0
-        
+
+        int depth = finished ? 0 : Math.min(MAX_DEPTH, Math.max(Integer.bitCount(empty) - 1, 0)); // Depth below the root moves
+        return new SearchResult(bestCell, minimaxNodes, 0, 0, depth, System.nanoTime() - startTime);
+    }
+
+    // Minimax algorithm to calculate the best possible move, lastCell is the cell of the previous move
+    private int minimax(int aiMask, int humanMask, int lastCell, int depth, boolean isMaximizing) {
+        minimaxNodes++;
+        // Base cases, only the player who made the last move can have a new line
+        if (!isMaximizing && BitBoard.isWin(aiMask, lastCell)) return Evaluation.WIN - depth; // AI wins, return positive score
+        if (isMaximizing && BitBoard.isWin(humanMask, lastCell)) return depth - Evaluation.WIN; // Human wins, return negative score
+        int occupied = aiMask | humanMask;
+        if (BitBoard.isFull(occupied)) return 0; // Draw, return 0
+        if (depth >= MAX_DEPTH) return evaluation.score(); // Max depth reached, return the score of the open lines
+
         if (isMaximizing) { // AI's turn (maximize score)
             int bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j] == EMPTY) {  // Only consider empty cells
-                        board[i][j] = AI;  // Try the AI's move
-                        int score = minimax(board, depth + 1, false);  // Recursively call minimax for the next turn
-                        board[i][j] = EMPTY;  // Undo the move
-                        bestScore = Math.max(score, bestScore);  // Update best score
-                    }
-                }
+            for (int empty = BitBoard.empty(occupied); empty != 0; empty &= empty - 1) {
+                int cell = Integer.numberOfTrailingZeros(empty);
+                evaluation.play(AI_PLAYER, cell);
+                int score = minimax(aiMask | (1 << cell), humanMask, cell, depth + 1, false);  // Recursively call minimax for the next turn
+                evaluation.undo(AI_PLAYER, cell);
+                bestScore = Math.max(score, bestScore);  // Update best score
             }
             return bestScore;
         } else { // Human's turn (minimize score)
             int bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j] == EMPTY) {  // Only consider empty cells
-                        board[i][j] = HUMAN;  // Try the human's move
-                        int score = minimax(board, depth + 1, true);  // Recursively call minimax for the next turn
-                        board[i][j] = EMPTY;  // Undo the move
-                        bestScore = Math.min(score, bestScore);  // Update best score
-                    }
-                }
+            for (int empty = BitBoard.empty(occupied); empty != 0; empty &= empty - 1) {
+                int cell = Integer.numberOfTrailingZeros(empty);
+                evaluation.play(HUMAN_PLAYER, cell);
+                int score = minimax(aiMask, humanMask | (1 << cell), cell, depth + 1, true);  // Recursively call minimax for the next turn
+                evaluation.undo(HUMAN_PLAYER, cell);
+                bestScore = Math.min(score, bestScore);  // Update best score
             }
             return bestScore;
         }
@@ -75,128 +149,189 @@ public class TicTacToeAI {
 
     // Method to get the best move using Alpha-Beta Pruning
     public int[] getBestMoveWithAlphaBeta(char[][] board) {
-        long startTime = System.currentTimeMillis(); // Record the start time
-        int[] bestMove = new int[]{-1, -1}; // Store the best move
-        int bestScore = Integer.MIN_VALUE;  // Initialize best score to a very low value
-        
-        // Loop through all cells in the board
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j] == EMPTY) {  // Only consider empty cells
-                    board[i][j] = AI;  // Try the AI's move
-                    int score = alphaBeta(board, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, false);  // Get the score from Alpha-Beta Pruning
-                    board[i][j] = EMPTY;  // Undo the move
-                    
-                    // Update best move if a better score is found
-                    if (score > bestScore) {
-                        bestScore = score;
-                        bestMove[0] = i;
-                        bestMove[1] = j;
-                    }
-                }
+        return searchWithAlphaBeta(board).getMove();
+    }
+
+    // Search the best move using Alpha-Beta Pruning, the result has the statistics of the search
+    public SearchResult searchWithAlphaBeta(char[][] board) {
+        return search(BitBoard.toMask(board, AI), BitBoard.toMask(board, HUMAN));
+    }
+
+    // Best cell for the AI, or -1 if there is no empty cell
+    int bestCell(int aiMask, int humanMask) {
+        return search(aiMask, humanMask).getCell();
+    }
+
+    // Best cell for the AI from the opening book, or from Alpha-Beta Pruning deepening the search one ply at a time
+    // until the time budget is reached or the search sees the full board
+    private SearchResult search(int aiMask, int humanMask) {
+        long startTime = System.nanoTime(); // Record the start time
+        int empty = BitBoard.empty(aiMask | humanMask);
+        int emptyCells = Integer.bitCount(empty);
+        if (emptyCells == 0) return new SearchResult(SearchResult.NO_CELL, 0, 0, 0, 0, System.nanoTime() - startTime); // No move left
+
+        // A finished board has the same score for every move, so the first empty cell is kept
+        int bestCell = Integer.numberOfTrailingZeros(empty);
+        if (BitBoard.isWin(aiMask) || BitBoard.isWin(humanMask) || emptyCells == 1) {
+            return new SearchResult(bestCell, 0, 0, 0, 0, System.nanoTime() - startTime);
+        }
+
+        int bookCell = book == null ? OpeningBook.NOT_FOUND : book.bestCell(aiMask, humanMask);
+        if (bookCell != OpeningBook.NOT_FOUND && (empty & (1 << bookCell)) != 0) { // Book move, no search
+            return new SearchResult(bookCell, 0, 0, 0, 0, System.nanoTime() - startTime);
+        }
+
+        table.newSearch(); // Entries of older searches are replaced first
+        AlphaBetaSearch[] workers = this.getSearches(pool == null ? 1 : pool.getParallelism());
+        for (AlphaBetaSearch search : workers) {
+            search.start(aiMask, humanMask); // Every worker hashes its own copy of the position
+        }
+        long stopTime = timeBudgetMillis == NO_TIME_BUDGET ? Long.MAX_VALUE : startTime + timeBudgetMillis * 1_000_000L;
+        int depthLimit = Math.min(maxDepth, emptyCells - 1); // Deeper searches see the same full board
+        int completedDepth = 0;
+
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            // The first iteration always completes, so there is a move when time runs out
+            for (AlphaBetaSearch search : workers) {
+                search.startIteration(depth, depth == 1 ? Long.MAX_VALUE : stopTime);
             }
+            long best = this.searchRoot(workers, bestCell, empty & ~(1 << bestCell));
+            if (best == TIME_UP) break; // Keep the move of the last completed iteration
+            bestCell = cellOf(best);
+            completedDepth = depth;
+            if (Evaluation.isWin(scoreOf(best))) break; // A forced win or loss does not change with a deeper search
         }
-        
-        long timeTaken = System.currentTimeMillis() - startTime; // Calculate the time taken for the move
-        System.out.println("Alpha-Beta time: " + timeTaken + "ms"); // Print the time taken
-        return bestMove; // Return the best move
-    }
-
-    // Alpha-Beta Pruning algorithm to calculate the best possible move
-    private int alphaBeta(char[][] board, int depth, int alpha, int beta, boolean isMaximizing) {
-        // Base cases
-        if (checkWin(board, AI)) return 10 - depth; // AI wins, return positive score
-        if (checkWin(board, HUMAN)) return depth - 10; // Human wins, return negative score
-        if (isBoardFull(board) || depth >= MAX_DEPTH) return 0; // Draw or max depth reached, return 0
-        
-        if (isMaximizing) { // AI's turn (maximize score)
-            int bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j] == EMPTY) {  // Only consider empty cells
-                        board[i][j] = AI;  // Try the AI's move
-                        int score = alphaBeta(board, depth + 1, alpha, beta, false);  // Recursively call alphaBeta for the next turn
-                        board[i][j] = EMPTY;  // Undo the move
-                        bestScore = Math.max(score, bestScore);  // Update best score
-                        alpha = Math.max(alpha, bestScore);  // Update alpha
-                        if (beta <= alpha) break;  // Beta pruning: stop searching if the current branch is worse than the best already found
-                    }
-                }
-                if (beta <= alpha) break;  // Beta pruning: stop searching if the current branch is worse than the best already found
+
+        long nodes = 0;
+        long cutoffs = 0;
+        long tableHits = 0;
+        for (AlphaBetaSearch search : workers) { // Statistics of all workers, including an interrupted iteration
+            nodes += search.getNodes();
+            cutoffs += search.getCutoffs();
+            tableHits += search.getTableHits();
+        }
+        return new SearchResult(bestCell, nodes, cutoffs, tableHits, completedDepth, System.nanoTime() - startTime);
+    }
+
+    // Search states of the workers, new workers are added when the pool grows
+    private AlphaBetaSearch[] getSearches(int workers) {
+        if (searches.length < workers) {
+            AlphaBetaSearch[] grown = Arrays.copyOf(searches, workers);
+            for (int i = searches.length; i < workers; i++) {
+                grown[i] = new AlphaBetaSearch(table, maxDepth);
             }
-            return bestScore;
-        } else { // Human's turn (minimize score)
-            int bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j] == EMPTY) {  // Only consider empty cells
-                        board[i][j] = HUMAN;  // Try the human's move
-                        int score = alphaBeta(board, depth + 1, alpha, beta, true);  // Recursively call alphaBeta for the next turn
-                        board[i][j] = EMPTY;  // Undo the move
-                        bestScore = Math.min(score, bestScore);  // Update best score
-                        beta = Math.min(beta, bestScore);  // Update beta
-                        if (beta <= alpha) break;  // Alpha pruning: stop searching if the current branch is worse than the best already found
-                    }
+            searches = grown;
+        }
+        return Arrays.copyOf(searches, workers);
+    }
+
+    // Search the best cell of the previous iteration first on this thread, its score is the first alpha bound.
+    // The other cells are then split between the workers, returns the packed best score and cell or TIME_UP
+    private long searchRoot(AlphaBetaSearch[] workers, int pvCell, int otherCells) {
+        AlphaBetaSearch main = workers[0];
+        int pvScore = main.searchMove(pvCell, Integer.MIN_VALUE, true);
+        if (main.isTimeUp()) return TIME_UP;
+
+        int[] cells = new int[Integer.bitCount(otherCells)]; // Remaining cells in row-major order
+        for (int i = 0; otherCells != 0; otherCells &= otherCells - 1) {
+            cells[i++] = Integer.numberOfTrailingZeros(otherCells);
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong shared = new AtomicLong(pack(pvScore, pvCell)); // Best score and cell of all workers
+        List<RootWorker> tasks = new ArrayList<>();
+        for (AlphaBetaSearch search : workers) {
+            tasks.add(new RootWorker(search, cells, next, shared));
+        }
+        tasks.get(0).setBest(pack(pvScore, pvCell), main);
+
+        if (pool == null) {
+            tasks.get(0).call(); // Single worker on the calling thread
+        } else {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("alpha-beta search is interrupted");
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
                 }
-                if (beta <= alpha) break;  // Alpha pruning: stop searching if the current branch is worse than the best already found
             }
-            return bestScore;
         }
+
+        RootWorker best = tasks.get(0);
+        for (RootWorker task : tasks) {
+            if (task.search.isTimeUp()) return TIME_UP; // The iteration is not complete
+            if (task.best > best.best) best = task;
+        }
+        main.setPreviousPv(best.pv, best.pvLength); // Principal variation for the next iteration
+        return best.best;
     }
 
-    // Method to check if a player has won the game
-    public boolean checkWin(char[][] board, char player) {
-        // Check rows
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            int count = 0;
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                count = (board[i][j] == player) ? count + 1 : 0;
-                if (count == 5) return true;  // Found a winning row
-            }
+    // Root search worker, takes the next cell until every cell is searched. A cell before the best one only
+    // needs to reach its score and later cells need to beat it, so equal scores keep the first cell in row-major order
+    private static class RootWorker implements Callable<Void> {
+        private final AlphaBetaSearch search; // Own hashes and move ordering of the worker
+        private final int[] cells;
+        private final AtomicInteger next;
+        private final AtomicLong shared;
+        private final int[] pv; // Principal variation of the best cell of this worker
+        private int pvLength;
+        private long best = TIME_UP; // Packed best score and cell of this worker
+
+        RootWorker(AlphaBetaSearch search, int[] cells, AtomicInteger next, AtomicLong shared) {
+            this.search = search;
+            this.cells = cells;
+            this.next = next;
+            this.shared = shared;
+            this.pv = new int[search.getMaxDepth() + 1];
         }
-        
-        // Check columns
-        for (int j = 0; j < BOARD_SIZE; j++) {
-            int count = 0;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                count = (board[i][j] == player) ? count + 1 : 0;
-                if (count == 5) return true;  // Found a winning column
-            }
+
+        void setBest(long best, AlphaBetaSearch search) {
+            this.best = best;
+            this.pvLength = search.copyPv(pv);
         }
-        
-        // Check diagonals
-        for (int i = 0; i <= BOARD_SIZE - 5; i++) {
-            for (int j = 0; j <= BOARD_SIZE - 5; j++) {
-                if (checkDiagonal(board, i, j, player)) return true;
-                if (checkAntiDiagonal(board, i, j + 4, player)) return true;
+
+        @Override
+        public Void call() {
+            for (int i = next.getAndIncrement(); i < cells.length; i = next.getAndIncrement()) {
+                int cell = cells[i];
+                long current = shared.get();
+                int alpha = cell < cellOf(current) ? scoreOf(current) - 1 : scoreOf(current);
+                int score = search.searchMove(cell, alpha, false);  // Get the score from Alpha-Beta Pruning
+                if (search.isTimeUp()) return null;
+
+                if (score > alpha) { // Exact score that is better than the best when the cell started
+                    long packed = pack(score, cell);
+                    shared.accumulateAndGet(packed, Math::max);
+                    if (packed > best) this.setBest(packed, search);
+                }
             }
+            return null;
         }
-        return false;
     }
 
-    // Method to check if a player has a diagonal win
-    private boolean checkDiagonal(char[][] board, int row, int col, char player) {
-        for (int k = 0; k < 5; k++) {
-            if (board[row + k][col + k] != player) return false;
-        }
-        return true;
+    // Score and cell in one long, a higher score or an equal score with a lower cell is a larger value
+    private static long pack(int score, int cell) {
+        return ((long) score << 32) | (BitBoard.CELLS - 1 - cell);
     }
 
-    // Method to check if a player has an anti-diagonal win
-    private boolean checkAntiDiagonal(char[][] board, int row, int col, char player) {
-        for (int k = 0; k < 5; k++) {
-            if (board[row + k][col - k] != player) return false;
-        }
-        return true;
+    private static int scoreOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int cellOf(long packed) {
+        return BitBoard.CELLS - 1 - (int) (packed & 0xFFFFFFFFL);
+    }
+
+    // Method to check if a player has won the game
+    public boolean checkWin(char[][] board, char player) {
+        return BitBoard.isWin(BitBoard.toMask(board, player)); // Compare the player cells with every win line
     }
 
     // Method to check if the board is full (no empty spaces)
     public boolean isBoardFull(char[][] board) {
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j] == EMPTY) return false;  // If any cell is empty, return false
-            }
-        }
-        return true;  // All cells are filled, return true
+        int occupied = BitBoard.FULL & ~BitBoard.toMask(board, EMPTY); // Every cell that is not empty
+        return BitBoard.isFull(occupied);  // All cells are filled, return true
     }
 }
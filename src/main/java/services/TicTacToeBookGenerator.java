@@ -0,0 +1,75 @@
+package services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import utils.dsa.tictactoe.BitBoard;
+import utils.dsa.tictactoe.OpeningBook;
+import utils.dsa.tictactoe.ZobristHash;
+
+// Offline generator of the Tic-Tac-Toe opening book. Every position with up to BOOK_MARKS marks where the AI is
+// to move is solved deeper than the game searches, and the best cells are written by canonical key
+public class TicTacToeBookGenerator {
+    private static final String DEFAULT_OUTPUT = "src/main/resources" + OpeningBook.DEFAULT_RESOURCE; // Book resource of the game
+    private static final int BOOK_DEPTH = 6;  // Search depth of the book positions
+    private static final int BOOK_MARKS = 3;  // Positions with more marks are searched during the game
+    private static final long TIME_BUDGET_MS = 60_000; // Time limit of one book position
+
+    // Arguments: output file, search depth and number of marks
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : BOOK_DEPTH;
+        int marks = args.length > 2 ? Integer.parseInt(args[2]) : BOOK_MARKS;
+
+        long startTime = System.currentTimeMillis(); // Record the start time
+        Map<Long, int[]> positions = new LinkedHashMap<>();
+        for (int humanMarks = 0; humanMarks <= marks; humanMarks++) {
+            // The AI moves when the human has played as many marks or one more, whoever started
+            for (int aiMarks = humanMarks - 1; aiMarks <= humanMarks; aiMarks++) {
+                if (aiMarks >= 0 && aiMarks + humanMarks <= marks) addPositions(positions, 0, 0, 0, humanMarks, aiMarks);
+            }
+        }
+
+        TicTacToeAI ai = new TicTacToeAI(TIME_BUDGET_MS, null, depth, null); // Searches without the current book
+        long[] keys = new long[positions.size()];
+        int[] cells = new int[positions.size()];
+        long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+        int i = 0;
+        for (Map.Entry<Long, int[]> position : positions.entrySet()) {
+            int aiMask = position.getValue()[0];
+            int humanMask = position.getValue()[1];
+            ZobristHash.hashes(aiMask, humanMask, hashes);
+            int symmetry = ZobristHash.canonicalSymmetry(hashes);
+            keys[i] = position.getKey();
+            cells[i] = BitBoard.SYMMETRIES[symmetry][ai.bestCell(aiMask, humanMask)]; // Cell in the canonical orientation
+            i++;
+        }
+
+        if (output.getParent() != null) Files.createDirectories(output.getParent());
+        try (OutputStream out = Files.newOutputStream(output)) {
+            OpeningBook.write(out, keys, cells);
+        }
+        long timeTaken = System.currentTimeMillis() - startTime; // Calculate the time taken for the book
+        System.out.println(keys.length + " positions written to " + output + " in " + timeTaken + "ms");
+    }
+
+    // Add every placement of the remaining marks from the cell onwards, keeping one position per canonical key
+    private static void addPositions(Map<Long, int[]> positions, int cell, int aiMask, int humanMask, int humanMarks, int aiMarks) {
+        if (humanMarks == 0 && aiMarks == 0) {
+            long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+            ZobristHash.hashes(aiMask, humanMask, hashes);
+            long key = ZobristHash.key(hashes, ZobristHash.canonicalSymmetry(hashes), false);
+            positions.putIfAbsent(key, new int[]{aiMask, humanMask});
+            return;
+        }
+        for (int next = cell; next < BitBoard.CELLS; next++) {
+            if (humanMarks > 0) addPositions(positions, next + 1, aiMask, humanMask | (1 << next), humanMarks - 1, aiMarks);
+            if (aiMarks > 0) addPositions(positions, next + 1, aiMask | (1 << next), humanMask, humanMarks, aiMarks - 1);
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package services;
 
+import java.nio.file.Path;
 import dev.morphia.Datastore;
 import dev.morphia.Morphia;
 import com.mongodb.client.MongoClients;
 import models.entities.TicTacToeResult;
+import dev.morphia.aggregation.expressions.ComparisonExpressions;
+import org.bson.Document;
+import utils.ResultWriter;
+import utils.dsa.tictactoe.SearchResult;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.avg;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.ConditionalExpressions.condition;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.query.filters.Filters.eq;
 
 public class TicTacToeService {
 
+    private static final Path SPILL_FILE =
+        ResultWriter.SPILL_DIRECTORY.resolve("pending-tictactoe-results.jsonl"); // Results not saved while the database is unreachable
+
     private final Datastore datastore;
+    private final ResultWriter resultWriter; // Saves the results in the background
 
     // No-argument constructor - creates and initializes its own Datastore
     public TicTacToeService() {
@@ -18,36 +35,52 @@ public class TicTacToeService {
         // Map the "models.entities" package for entity scanning and ensure indexes are created
         this.datastore.getMapper().mapPackage("models.entities");
         this.datastore.ensureIndexes();
+        this.resultWriter = new ResultWriter(this.datastore, SPILL_FILE);
+        // Save the queued results before the application exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this.resultWriter::close));
     }
 
-    // Constructor that accepts an external Datastore
-    public TicTacToeService(Datastore datastore) {
+    // Constructor that accepts an external Datastore and the writer of its results,
+    // the caller owns the writer and closes it, one writer per spill file
+    public TicTacToeService(Datastore datastore, ResultWriter resultWriter) {
+        if (resultWriter == null)
+            throw new IllegalArgumentException("resultWriter should not be null");
         // Use the provided Datastore for database operations
         this.datastore = datastore;
+        this.resultWriter = resultWriter;
     }
 
-    // Saves the result of a Tic-Tac-Toe game to the database
+    // Saves the result of a Tic-Tac-Toe game to the database with the statistics of the last AI search,
+    // statistics is null when the game ends with a move of the player
     public void saveResult(String winner, int row, int col,
-                           String algorithmType, long timeTaken, boolean isWin) {
+                           String algorithmType, SearchResult statistics, boolean isWin) {
         // Create a new result object with the provided details
-        TicTacToeResult result = new TicTacToeResult(
-            winner, row, col, algorithmType, timeTaken, isWin
-        );
-        // Save the result object into the database
-        datastore.save(result);
+        TicTacToeResult result = statistics == null
+            ? new TicTacToeResult(winner, row, col, algorithmType, 0, isWin)
+            : new TicTacToeResult(
+                winner, row, col, algorithmType, statistics.getElapsedNanos(), statistics.getNodes(),
+                statistics.getCutoffs(), statistics.getTableHits(), statistics.getDepth(), isWin
+            );
+        // Queue the result object to be saved into the database without waiting for it
+        resultWriter.submit(result);
+    }
+
+    // Waits until every queued result is saved into the database, or spilled to disk if it can not be reached
+    public void flush() {
+        resultWriter.flush();
     }
 
     // Retrieves average algorithm time from database
     public long getAverageTimeForAlgorithm(String algorithmType) {
         try {
-            // Calculate and return the average time taken for a given algorithm type
-            return (long) datastore.find(TicTacToeResult.class)
-                .filter("algorithmType", algorithmType)  // Filter results by algorithm type
-                .iterator().toList()  // Convert the results to a list
-                .stream()
-                .mapToLong(TicTacToeResult::getTimeTakenMs)  // Extract the time taken from each result
-                .average()  // Calculate the average of the times
-                .orElse(0);  // If no results, return 0
+            // Average on the server, the match uses the algorithmType index
+            Document average = datastore.aggregate(TicTacToeResult.class)
+                .match(eq("algorithmType", algorithmType))  // Filter results by algorithm type
+                .group(group().field("average", avg(field("timeTakenMs"))))  // Average the time of the matched results
+                .execute(Document.class)
+                .tryNext();
+            // If no results, return 0
+            return average == null || average.get("average") == null ? 0 : ((Number) average.get("average")).longValue();
         } catch (Exception e) {
             // If an error occurs, print the error and return 0
             System.err.println("Error getting average time: " + e.getMessage());
@@ -58,18 +91,19 @@ public class TicTacToeService {
     // Gets the win rate for a player
     public double getPlayerWinRate(String playerName) {
         try {
-            // Calculate the total number of games played by the player
-            long totalGames = datastore.find(TicTacToeResult.class)
-                .filter("playerName", playerName)  // Filter results by player name
-                .count();
-            if (totalGames == 0) return 0;  // If no games played, return 0 win rate
-            // Calculate the number of wins for the player
-            long wins = datastore.find(TicTacToeResult.class)
-                .filter("playerName", playerName)  // Filter results by player name
-                .filter("isWin", true)  // Filter results where the player won
-                .count();
+            // Count the games and the wins of the player in one pipeline, the match uses the playerName index
+            Document games = datastore.aggregate(TicTacToeResult.class)
+                .match(eq("playerName", playerName))  // Filter results by player name
+                .group(group()
+                    .field("total", sum(value(1)))  // Calculate the total number of games played by the player
+                    .field("wins", sum(condition(ComparisonExpressions.eq(field("isWin"), value(true)), value(1), value(0)))))
+                .execute(Document.class)
+                .tryNext();
+            if (games == null) return 0;  // If no games played, return 0 win rate
+            long totalGames = ((Number) games.get("total")).longValue();
+            long wins = ((Number) games.get("wins")).longValue();
             // Calculate and return the win rate
-            return (double) wins / totalGames;
+            return totalGames == 0 ? 0 : (double) wins / totalGames;
         } catch (Exception e) {
             // If an error occurs, print the error and return 0 win rate
             System.err.println("Error getting win rate: " + e.getMessage());
@@ -9,16 +9,24 @@ import models.entities.TravelingSalesManResult;
 import models.exceptions.DatabaseException;
 import utils.DatabaseConnection;
 import utils.constants.TravelingSalesManConstants;
-import utils.dsa.bruteforce.BruteForce;
-import utils.dsa.genetic.Genetic;
 import utils.dsa.graph.Edge;
 import utils.dsa.graph.Graph;
-import utils.dsa.heldkarp.HeldKarp;
+import utils.dsa.heldkarp.IncrementalHeldKarp;
+import utils.dsa.localsearch.LocalSearch;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.ProgressListener;
+import utils.dsa.tsp.TspCache;
+import utils.dsa.tsp.TspAlgorithm;
+import utils.dsa.tsp.TspResult;
 
 public class TravelingSalesManService {
-	private Graph<String> graphObj;
-	private String calculatedPath;
-	private Double calculatedDistance;
+	private volatile Graph<String> graphObj;
+	private volatile String calculatedPath;
+	private volatile Double calculatedDistance;
+	private boolean localSearchEnabled;
+	private TspCache<String> cache;
+	// only used by the thread that adds destinations, the event thread of the game
+	private IncrementalHeldKarp<String> incrementalHeldKarp;
 
 	/**
 	 * Initialize new service object
@@ -27,6 +35,9 @@ public class TravelingSalesManService {
 		graphObj = new Graph<String>();
 		calculatedPath = "";
 		calculatedDistance = -1d;
+		// routes of the genetic algorithm are improved with local search
+		localSearchEnabled = true;
+		cache = new TspCache<String>();
 	}
 
 	/**
@@ -34,6 +45,7 @@ public class TravelingSalesManService {
 	 */
 	public Graph<String> initNewRound() {
 		graphObj = new Graph<String>();
+		incrementalHeldKarp = null;
 		Random rand = new Random();
 
 		// initialize graph with sources, destinations and random weights
@@ -66,6 +78,90 @@ public class TravelingSalesManService {
 		return findEdge.getWeight();
 	}
 
+	/**
+	 * Solve the shortest path with an algorithm on the current thread and set the
+	 * calculated path and distance. Routes already solved for the same weights and
+	 * cities are returned from the cache
+	 * 
+	 * @param algorithm
+	 * @param sourceVertex
+	 * @param selectedVertices
+	 * @param token            cancellation token, can be null
+	 * @param listener         best so far listener, can be null
+	 * @return
+	 */
+	public TspResult<String> solve(TspAlgorithm algorithm, String sourceVertex, List<String> selectedVertices,
+			CancellationToken token, ProgressListener<String> listener) {
+		return this.solve(algorithm, sourceVertex, selectedVertices,
+				this.getIncrementalResult(algorithm, sourceVertex, selectedVertices), token, listener);
+	}
+
+	/**
+	 * Solve the shortest path like solve, with a route already known for the
+	 * cities. The incremental table is not read, so a worker thread can solve
+	 * with a snapshot of it taken on the thread that adds destinations
+	 * 
+	 * @param algorithm
+	 * @param sourceVertex
+	 * @param selectedVertices
+	 * @param known            route of the cities, can be null
+	 * @param token            cancellation token, can be null
+	 * @param listener         best so far listener, can be null
+	 * @return
+	 */
+	public TspResult<String> solve(TspAlgorithm algorithm, String sourceVertex, List<String> selectedVertices,
+			TspResult<String> known, CancellationToken token, ProgressListener<String> listener) {
+		if (algorithm == null)
+			throw new IllegalArgumentException("algorithm should not be null");
+
+		// a new round can replace the graph while a worker solves
+		Graph<String> graph = graphObj;
+		if (known != null) {
+			if (listener != null)
+				listener.onProgress(known);
+			return this.setCalculatedResult(graph, algorithm, known);
+		}
+
+		TspResult<String> result = cache.solve(graph, algorithm, sourceVertex, selectedVertices, token, listener);
+		return this.setCalculatedResult(graph, algorithm, result);
+	}
+
+	/**
+	 * Snapshot of the optimal route in the incremental Held-Karp table, when the
+	 * algorithm is Held-Karp and the table has the source and the selected
+	 * cities. Call it on the thread that adds destinations
+	 * 
+	 * @param algorithm
+	 * @param sourceVertex
+	 * @param selectedVertices
+	 * @return route or null if the table can not answer
+	 */
+	public TspResult<String> getIncrementalResult(TspAlgorithm algorithm, String sourceVertex,
+			List<String> selectedVertices) {
+		if (algorithm != TspAlgorithm.HELD_KARP || incrementalHeldKarp == null)
+			return null;
+		List<String> nodes = incrementalHeldKarp.getNodes();
+		if (!nodes.get(0).equals(sourceVertex) || !nodes.subList(1, nodes.size()).equals(selectedVertices))
+			return null;
+		// the result copies the route, so later destinations do not change it
+		return new TspResult<String>(incrementalHeldKarp.getBestRoute(), incrementalHeldKarp.getMinCost(), true);
+	}
+
+	/**
+	 * Add a user selected destination to the incremental Held-Karp table. Only the
+	 * subsets with the new destination are computed, so the optimal route can be
+	 * updated after every selection
+	 * 
+	 * @param sourceVertex
+	 * @param destinationVertex
+	 * @return optimal route through the source and the selected destinations
+	 */
+	public TspResult<String> addDestination(String sourceVertex, String destinationVertex) {
+		if (incrementalHeldKarp == null || !incrementalHeldKarp.getNodes().get(0).equals(sourceVertex))
+			incrementalHeldKarp = new IncrementalHeldKarp<String>(graphObj, sourceVertex);
+		return incrementalHeldKarp.addNode(destinationVertex);
+	}
+
 	/**
 	 * Use brute force algorithm to solve the shortest path
 	 * 
@@ -73,10 +169,17 @@ public class TravelingSalesManService {
 	 * @param userSelectedVertices
 	 */
 	public void useBruteForceAlgorithm(String sourceVertex, List<String> userSelectedVertices) {
-		BruteForce<String> algorithm = new BruteForce<String>(graphObj);
-		algorithm.permute(userSelectedVertices, sourceVertex, 0);
-		calculatedPath = this.bestRouteToString(algorithm.getBestRoute());
-		calculatedDistance = algorithm.getMinDistance();
+		this.solve(TspAlgorithm.BRUTE_FORCE, sourceVertex, userSelectedVertices, null, null);
+	}
+
+	/**
+	 * Use branch and bound algorithm to solve the shortest path
+	 * 
+	 * @param sourceVertex
+	 * @param userSelectedVertices
+	 */
+	public void useBranchAndBoundAlgorithm(String sourceVertex, List<String> userSelectedVertices) {
+		this.solve(TspAlgorithm.BRANCH_AND_BOUND, sourceVertex, userSelectedVertices, null, null);
 	}
 
 	/**
@@ -85,10 +188,8 @@ public class TravelingSalesManService {
 	 * @param selectedNodes
 	 */
 	public void useHeldKarpAlgorithm(List<String> selectedNodes) {
-		HeldKarp<String> algorithm = new HeldKarp<String>(graphObj);
-		algorithm.calculate(selectedNodes);
-		calculatedPath = this.bestRouteToString(algorithm.getBestRoute());
-		calculatedDistance = algorithm.getMinCost();
+		this.solve(TspAlgorithm.HELD_KARP, selectedNodes.get(0), selectedNodes.subList(1, selectedNodes.size()),
+				null, null);
 	}
 
 	/**
@@ -98,10 +199,37 @@ public class TravelingSalesManService {
 	 * @param selectedVertices
 	 */
 	public void useGeneticAlgorithm(String sourceVertex, List<String> selectedVertices) {
-		Genetic<String> algorithm = new Genetic<String>(graphObj);
-		algorithm.calculate(selectedVertices, sourceVertex);
-		calculatedPath = this.bestRouteToString(algorithm.getBestRoute());
-		calculatedDistance = algorithm.getMinDistance();
+		this.solve(TspAlgorithm.GENETIC, sourceVertex, selectedVertices, null, null);
+	}
+
+	/**
+	 * Set the calculated path and distance of an algorithm. If local search is
+	 * enabled the route of an algorithm that is not exact is improved with 2-opt
+	 * and Or-opt moves first
+	 * 
+	 * @param graph
+	 * @param algorithm
+	 * @param result
+	 * @return result with the calculated path and distance
+	 */
+	private TspResult<String> setCalculatedResult(Graph<String> graph, TspAlgorithm algorithm,
+			TspResult<String> result) {
+		List<String> bestRoute = result.getRoute();
+		double minDistance = result.getDistance();
+
+		// only closed routes can be improved, missing routes are kept as they are
+		if (localSearchEnabled && !algorithm.isExact() && bestRoute.size() > 1
+				&& bestRoute.get(0).equals(bestRoute.get(bestRoute.size() - 1))) {
+			LocalSearch<String> localSearch = new LocalSearch<String>(graph);
+			localSearch.improve(bestRoute);
+			if (localSearch.getMinDistance() <= minDistance) {
+				result = new TspResult<String>(localSearch.getBestRoute(), localSearch.getMinDistance(),
+						result.isComplete());
+			}
+		}
+		calculatedPath = this.bestRouteToString(result.getRoute());
+		calculatedDistance = result.getDistance();
+		return result;
 	}
 
 	/**
@@ -110,7 +238,7 @@ public class TravelingSalesManService {
 	 * @param bestRoute
 	 * @return
 	 */
-	private String bestRouteToString(List<String> bestRoute) {
+	public String bestRouteToString(List<String> bestRoute) {
 		StringBuilder result = new StringBuilder();
 		for (int i = 0; i < bestRoute.size() - 1; i++) {
 			result.append(bestRoute.get(i)).append("-").append(bestRoute.get(i + 1)).append(",\n");
@@ -140,10 +268,10 @@ public class TravelingSalesManService {
 
 		}
 
-		// save them in a database
+		// queue them to be saved in a database
 		DatabaseConnection dc = DatabaseConnection.getInstance();
-		dc.getDatastore()
-				.save(new TravelingSalesManResult(playerName, algorithm, sourceVertex, destinationCities, timeTaken));
+		dc.getResultWriter()
+				.submit(new TravelingSalesManResult(playerName, algorithm, sourceVertex, destinationCities, timeTaken));
 	}
 
 	public String getCalculatedPath() {
@@ -162,4 +290,15 @@ public class TravelingSalesManService {
 		this.calculatedDistance = calculatedDistance;
 	}
 
+	public TspCache<String> getCache() {
+		return cache;
+	}
+
+	public boolean isLocalSearchEnabled() {
+		return localSearchEnabled;
+	}
+
+	public void setLocalSearchEnabled(boolean localSearchEnabled) {
+		this.localSearchEnabled = localSearchEnabled;
+	}
 }
@@ -1,22 +1,30 @@
 package utils;
 
+import java.nio.file.Path;
+
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
 import dev.morphia.Datastore;
 import dev.morphia.Morphia;
+import models.entities.EightQueensResult;
+import models.entities.KnightTourResult;
 import models.entities.TestCollection;
-import models.exceptions.DatabaseException;
-
+import models.entities.TicTacToeResult;
 import models.entities.TowerOfHanoiResult;
+import models.entities.TravelingSalesManResult;
+import models.exceptions.DatabaseException;
 
 public class DatabaseConnection {
 	// database configurations
 	private static final String DATABASE_URI = "mongodb://localhost:27017/";
 	private static final String DATABASE_NAME = "minigamesdb";
+	// results not saved while the database is unreachable
+	private static final Path SPILL_FILE = ResultWriter.SPILL_DIRECTORY.resolve("pending-results.jsonl");
 
 	private static DatabaseConnection instance = null;
 	private Datastore datastore;
+	private ResultWriter resultWriter;
 
 	/**
 	 * Private constructor for ensure the singleton design pattern for database
@@ -31,6 +39,10 @@ public class DatabaseConnection {
 			
 			//map database collection entity classes to data store
 			this.mapDatabaseColletionEntities(this.datastore);
+
+			//save game results in the background, the queued results are saved before the application exits
+			this.resultWriter = new ResultWriter(this.datastore, SPILL_FILE);
+			Runtime.getRuntime().addShutdownHook(new Thread(this.resultWriter::close));
 		} catch (Exception e) {
 			throw new DatabaseException(e.getMessage());
 		}
@@ -66,6 +78,15 @@ public class DatabaseConnection {
 	public Datastore getDatastore() {
 		return datastore;
 	}
+
+	/**
+	 * Get the writer that saves game results in the background
+	 * 
+	 * @return ResultWriter
+	 */
+	public ResultWriter getResultWriter() {
+		return resultWriter;
+	}
 	
 	
 	/**
@@ -74,15 +95,15 @@ public class DatabaseConnection {
 	 * @param datastore
 	 */
 	private void mapDatabaseColletionEntities(Datastore datastore) {
-		datastore.getMapper().map(TestCollection.class);
-		datastore.getMapper().map(TowerOfHanoiResult.class);
-		//other data store configuration
+		datastore.getMapper().map(TestCollection.class, EightQueensResult.class, KnightTourResult.class,
+				TicTacToeResult.class, TowerOfHanoiResult.class, TravelingSalesManResult.class);
+		//create the declared indexes of every mapped entity
 		datastore.ensureIndexes();
 	}
 	
     public void save(TowerOfHanoiResult result) throws DatabaseException {
         try {
-            datastore.save(result);
+            resultWriter.submit(result);
         } catch (Exception e) {
             throw new DatabaseException("Failed to save Tower of Hanoi result: " + e.getMessage());
         }
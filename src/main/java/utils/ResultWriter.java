@@ -0,0 +1,449 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import dev.morphia.Datastore;
+
+/**
+ * Write behind queue of game results. A save only puts the result on a bounded
+ * queue, so the game never waits for the database, and one writer thread
+ * stores the queued results in batches, when a batch is full or the flush
+ * interval has passed. A failed batch is retried with an exponential backoff
+ * and then appended to a spill file, one line of class name and extended JSON
+ * per result, as is a result that finds the queue full. The spill file is
+ * stored again when the writer starts and after the next batch that is stored,
+ * lines that can not be read back are moved to a file of the same name ending
+ * in .bad. The writers of the same spill file share its locks
+ */
+public class ResultWriter implements AutoCloseable {
+	public static final int DEFAULT_CAPACITY = 1024;
+	public static final int DEFAULT_BATCH_SIZE = 64;
+	public static final long DEFAULT_FLUSH_INTERVAL_MS = 500;
+	public static final int DEFAULT_RETRIES = 3;
+	public static final long DEFAULT_BACKOFF_MS = 250;
+	public static final long DEFAULT_CLOSE_TIMEOUT_MS = 5000;
+	// directory of the spill files of the games
+	public static final Path SPILL_DIRECTORY = Paths.get(System.getProperty("user.home"), ".pdsa-mini-games");
+
+	// wakes the writer up to store the results queued before it
+	private static final Object FLUSH = new Object();
+	// extended JSON keeps the BSON types of longs and dates
+	private static final JsonWriterSettings SPILL_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED)
+			.build();
+	// locks of each spill file, by absolute path
+	private static final Map<Path, SpillLocks> SPILL_LOCKS = new ConcurrentHashMap<>();
+
+	/**
+	 * Storage of a batch of results
+	 */
+	@FunctionalInterface
+	public interface BatchStore {
+		void store(List<Object> results) throws Exception;
+	}
+
+	private static final class SpillLocks {
+		private final Object append = new Object(); // appends to and moves of the spill file
+		private final Object replay = new Object(); // one replay of the file at a time
+	}
+
+	private final BatchStore store;
+	private final CodecRegistry codecs;
+	private final Path spillFile;
+	private final Path replayFile; // spilled results being stored again
+	private final Path badFile; // spilled results that can not be read back
+	private final BlockingQueue<Object> queue;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final int retries;
+	private final long backoffMillis;
+	private final Thread writer;
+	private final SpillLocks spillLocks;
+	private final List<Object> batch; // results taken from the queue and not yet stored
+	private final Object batchLock = new Object();
+	private final Object pendingLock = new Object();
+	private long pending; // results submitted and not yet stored or spilled
+	private volatile boolean running = true;
+	private volatile boolean abandoned; // close has spilled the batch and the queue
+
+	/**
+	 * Write results to a datastore with the default queue settings
+	 *
+	 * @param datastore
+	 * @param spillFile
+	 */
+	public ResultWriter(Datastore datastore, Path spillFile) {
+		this(storeIn(datastore), datastore == null ? null : datastore.getCodecRegistry(), spillFile, DEFAULT_CAPACITY,
+				DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MS, DEFAULT_RETRIES, DEFAULT_BACKOFF_MS);
+	}
+
+	/**
+	 * @param store           storage of the batches
+	 * @param codecs          codecs of the result classes, to spill and read back
+	 * @param spillFile
+	 * @param capacity        results the queue holds before spilling
+	 * @param batchSize       results stored together
+	 * @param flushIntervalMs longest wait for a batch to fill
+	 * @param retries         attempts after the first failed one
+	 * @param backoffMs       wait before the first retry, doubled every retry
+	 */
+	public ResultWriter(BatchStore store, CodecRegistry codecs, Path spillFile, int capacity, int batchSize,
+			long flushIntervalMs, int retries, long backoffMs) {
+		if (store == null)
+			throw new IllegalArgumentException("store should not be null");
+		if (codecs == null)
+			throw new IllegalArgumentException("codecs should not be null");
+		if (spillFile == null)
+			throw new IllegalArgumentException("spill file should not be null");
+		if (capacity < 1 || batchSize < 1)
+			throw new IllegalArgumentException("capacity and batch size should be positive");
+		if (flushIntervalMs < 1)
+			throw new IllegalArgumentException("flush interval should be positive");
+		if (retries < 0 || backoffMs < 0)
+			throw new IllegalArgumentException("retries and backoff should not be negative");
+
+		this.store = store;
+		this.codecs = codecs;
+		this.spillFile = spillFile;
+		this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+		this.badFile = spillFile.resolveSibling(spillFile.getFileName() + ".bad");
+		this.spillLocks = SPILL_LOCKS.computeIfAbsent(spillFile.toAbsolutePath().normalize(),
+				file -> new SpillLocks());
+		this.queue = new ArrayBlockingQueue<>(capacity + 1); // room for a flush marker
+		this.batchSize = batchSize;
+		this.batch = new ArrayList<>(batchSize);
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+		this.retries = retries;
+		this.backoffMillis = backoffMs;
+
+		this.writer = new Thread(this::run, "result-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Queue a result to be stored. A result that finds the queue full is spilled
+	 * to disk instead of waiting
+	 *
+	 * @param result entity to store
+	 */
+	public void submit(Object result) {
+		if (result == null)
+			throw new IllegalArgumentException("result should not be null");
+		if (!running)
+			throw new IllegalStateException("result writer is closed");
+
+		synchronized (pendingLock) {
+			pending++;
+		}
+		// one slot stays free for the flush marker
+		if (queue.remainingCapacity() <= 1 || !queue.offer(result)) {
+			this.spill(List.of(result));
+			this.done(1);
+		}
+	}
+
+	/**
+	 * Wait until every submitted result is stored or spilled
+	 */
+	public void flush() {
+		queue.offer(FLUSH);
+		synchronized (pendingLock) {
+			while (pending > 0) {
+				try {
+					pendingLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Store the queued results and stop the writer, waiting at most the default
+	 * close timeout
+	 */
+	@Override
+	public void close() {
+		this.close(DEFAULT_CLOSE_TIMEOUT_MS);
+	}
+
+	/**
+	 * Store the queued results and stop the writer. The results still queued or
+	 * being stored when the timeout passes are spilled, a batch the store saves
+	 * after that is stored again with the spill file
+	 *
+	 * @param timeoutMs longest wait for the writer
+	 */
+	public void close(long timeoutMs) {
+		running = false;
+		queue.offer(FLUSH);
+		try {
+			writer.join(Math.max(1, timeoutMs));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!writer.isAlive())
+			return;
+
+		List<Object> left;
+		synchronized (batchLock) {
+			abandoned = true;
+			left = new ArrayList<>(batch);
+			queue.drainTo(left);
+		}
+		left.removeIf(result -> result == FLUSH);
+		this.spill(left);
+		writer.interrupt();
+		synchronized (pendingLock) {
+			pending = 0;
+			pendingLock.notifyAll();
+		}
+	}
+
+	/**
+	 * getters
+	 *
+	 * @return
+	 */
+	public Path getSpillFile() {
+		return spillFile;
+	}
+
+	/**
+	 * Writer loop: take a first result, wait for more until the batch is full,
+	 * the flush interval has passed or a flush is asked, then store the batch
+	 */
+	private void run() {
+		this.replaySpill();
+		try {
+			while ((running || !queue.isEmpty()) && !abandoned) {
+				Object next = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+				long deadline = System.nanoTime() + flushIntervalNanos;
+				while (next != null && next != FLUSH) {
+					if (!this.take(next))
+						return;
+					if (batch.size() == batchSize)
+						break;
+					long wait = deadline - System.nanoTime();
+					next = running && wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+				}
+				if (!batch.isEmpty()) {
+					this.write();
+					synchronized (batchLock) {
+						if (abandoned)
+							return;
+						this.done(batch.size());
+						batch.clear();
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// keep the results of an interrupted writer on disk, unless close already did
+			synchronized (batchLock) {
+				if (abandoned)
+					return;
+				batch.addAll(queue);
+				batch.removeIf(result -> result == FLUSH);
+				this.spill(batch);
+				this.done(batch.size());
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Add a result taken from the queue to the batch, or spill it when close has
+	 * already spilled the batch
+	 *
+	 * @return false if the writer should stop
+	 */
+	private boolean take(Object result) {
+		synchronized (batchLock) {
+			if (!abandoned) {
+				batch.add(result);
+				return true;
+			}
+		}
+		this.spill(List.of(result));
+		return false;
+	}
+
+	private void write() throws InterruptedException {
+		for (int attempt = 0;; attempt++) {
+			try {
+				store.store(batch);
+				if (!abandoned)
+					this.replaySpill();
+				return;
+			} catch (Exception e) {
+				if (attempt >= retries) {
+					synchronized (batchLock) {
+						if (abandoned)
+							return;
+						System.err.println("Error saving " + batch.size() + " results, spilled to " + spillFile + ": "
+								+ e.getMessage());
+						this.spill(batch);
+					}
+					return;
+				}
+				Thread.sleep(backoffMillis << attempt);
+			}
+		}
+	}
+
+	private void done(int count) {
+		synchronized (pendingLock) {
+			pending -= count;
+			if (pending <= 0)
+				pendingLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Append results to the spill file
+	 */
+	private void spill(List<Object> results) {
+		if (results.isEmpty())
+			return;
+		List<String> lines = new ArrayList<>(results.size());
+		try {
+			for (Object result : results) {
+				lines.add(result.getClass().getName() + '\t' + this.encode(result));
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Error spilling " + results.size() + " results: " + e.getMessage());
+			return;
+		}
+		synchronized (spillLocks.append) {
+			try {
+				this.append(spillFile, lines);
+			} catch (IOException e) {
+				System.err.println("Error spilling " + results.size() + " results: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Store the results of the spill file again. The file is moved aside while
+	 * they are stored, so results spilled meanwhile are kept, and the moved file
+	 * is only deleted once they are stored
+	 */
+	private void replaySpill() {
+		synchronized (spillLocks.replay) {
+			try {
+				synchronized (spillLocks.append) {
+					if (Files.exists(spillFile)) {
+						if (Files.exists(replayFile)) {
+							// left by a replay that did not finish
+							this.append(replayFile, Files.readAllLines(spillFile, StandardCharsets.UTF_8));
+							Files.delete(spillFile);
+						} else {
+							Files.move(spillFile, replayFile);
+						}
+					}
+				}
+				if (!Files.exists(replayFile))
+					return;
+
+				List<Object> results = new ArrayList<>();
+				List<String> good = new ArrayList<>();
+				List<String> bad = new ArrayList<>();
+				for (String line : Files.readAllLines(replayFile, StandardCharsets.UTF_8)) {
+					if (line.isEmpty())
+						continue;
+					int tab = line.indexOf('\t');
+					try {
+						if (tab < 0)
+							throw new IllegalArgumentException("no class name");
+						results.add(this.decode(Class.forName(line.substring(0, tab)), line.substring(tab + 1)));
+						good.add(line);
+					} catch (ClassNotFoundException | RuntimeException e) {
+						System.err.println("Error reading spilled result, kept in " + badFile + ": " + e.getMessage());
+						bad.add(line);
+					}
+				}
+				if (!bad.isEmpty()) {
+					// move the bad lines out, so a failed store does not keep them twice
+					this.append(badFile, bad);
+					Files.write(replayFile, good, StandardCharsets.UTF_8);
+				}
+				if (!results.isEmpty())
+					store.store(results);
+				Files.delete(replayFile);
+			} catch (Exception e) {
+				// the database is still unreachable, try again after the next batch
+			}
+		}
+	}
+
+	/**
+	 * Append lines to a file, creating it and its directory if needed
+	 */
+	private void append(Path file, List<String> lines) throws IOException {
+		if (file.getParent() != null)
+			Files.createDirectories(file.getParent());
+		try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)) {
+			for (String line : lines) {
+				out.write(line);
+				out.newLine();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private String encode(Object result) {
+		Codec<Object> codec = (Codec<Object>) codecs.get(result.getClass());
+		BsonDocument document = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(document), result, EncoderContext.builder().build());
+		return document.toJson(SPILL_JSON);
+	}
+
+	private Object decode(Class<?> type, String json) {
+		return codecs.get(type).decode(new BsonDocumentReader(BsonDocument.parse(json)),
+				DecoderContext.builder().build());
+	}
+
+	/**
+	 * Batch store of a datastore, the results of each entity class are saved
+	 * together
+	 */
+	private static BatchStore storeIn(Datastore datastore) {
+		if (datastore == null)
+			throw new IllegalArgumentException("datastore should not be null");
+		return results -> {
+			Map<Class<?>, List<Object>> byType = new LinkedHashMap<>();
+			for (Object result : results) {
+				byType.computeIfAbsent(result.getClass(), type -> new ArrayList<>()).add(result);
+			}
+			for (List<Object> entities : byType.values()) {
+				datastore.save(entities);
+			}
+		};
+	}
+}
@@ -0,0 +1,317 @@
+package utils.dsa.branchandbound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.ProgressListener;
+import utils.dsa.tsp.TspResult;
+import utils.dsa.tsp.TspSolver;
+
+/**
+ * Exact traveling sales man solver with branch and bound. Partial routes keep a
+ * running cost and are pruned when the cost plus a minimum spanning tree lower
+ * bound of the remaining cities can not beat the best route found. Children are
+ * explored in order of their lower bound
+ *
+ * @param <N>
+ */
+public class BranchAndBound<N> implements TspSolver<N> {
+	private Graph<N> graph;
+	private List<N> bestRoute;
+	private Double minDistance;
+
+	// search state, home node is index 0 and selected nodes follow it
+	private DistanceMatrix<N> distances;
+	private double[] undirected;
+	private int size;
+	private int[] route;
+	private int[] bestOrder;
+	private boolean[] visited;
+	private int[][] children;
+	private double[][] bounds;
+	private int[] treeNodes;
+	private double[] treeKeys;
+	private double upperBound;
+	private long exploredNodes;
+	private CancellationToken token;
+	private ProgressListener<N> listener;
+
+	/**
+	 * Initialize the initial values
+	 *
+	 * @param graph
+	 */
+	public BranchAndBound(Graph<N> graph) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph should not be null");
+		this.graph = graph;
+		bestRoute = new ArrayList<N>();
+		minDistance = Double.MAX_VALUE;
+	}
+
+	/**
+	 * Solve the route with branch and bound. When the token is cancelled the best
+	 * route found so far is returned
+	 */
+	@Override
+	public TspResult<N> solve(N homeNode, List<N> selectedNodes, CancellationToken token,
+			ProgressListener<N> listener) {
+		this.token = token;
+		this.listener = listener;
+		try {
+			this.calculate(selectedNodes, homeNode);
+			return new TspResult<N>(bestRoute, minDistance, token == null || !token.isCancelled());
+		} finally {
+			this.token = null;
+			this.listener = null;
+		}
+	}
+
+	/**
+	 * Calculate the shortest path and distance. If there is no route through all
+	 * the selected nodes the distance stays as max value and the route is empty
+	 *
+	 * @param selectedNodes
+	 * @param homeNode
+	 */
+	public void calculate(List<N> selectedNodes, N homeNode) {
+		if (selectedNodes == null)
+			throw new IllegalArgumentException("selected nodes should not be null");
+		if (homeNode == null)
+			throw new IllegalArgumentException("home node should not be null");
+		if (selectedNodes.size() < 1)
+			throw new IllegalArgumentException("selected nodes should have at least 1 nodes");
+
+		List<N> vertices = new ArrayList<N>();
+		vertices.add(homeNode);
+		vertices.addAll(selectedNodes);
+		this.initialize(vertices);
+
+		// nearest neighbour route gives the first upper bound
+		this.nearestNeighbour();
+
+		if (bestOrder != null)
+			this.updateBestRoute();
+
+		route[0] = 0;
+		visited[0] = true;
+		this.search(1, 0);
+	}
+
+	/**
+	 * Set the best route from the best order and report it as progress
+	 */
+	private void updateBestRoute() {
+		this.minDistance = upperBound;
+		this.bestRoute = new ArrayList<N>();
+		for (int index : bestOrder) {
+			bestRoute.add(distances.getVertex(index));
+		}
+		bestRoute.add(distances.getVertex(0));
+
+		if (listener != null)
+			listener.onProgress(new TspResult<N>(bestRoute, minDistance, false));
+	}
+
+	/**
+	 * Allocate the search state for the given vertices
+	 *
+	 * @param vertices
+	 */
+	private void initialize(List<N> vertices) {
+		distances = graph.toDistanceMatrix(vertices);
+		size = distances.size();
+
+		// the cheaper direction of each edge, used for the spanning tree bound
+		undirected = new double[size * size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				undirected[i * size + j] = Math.min(distances.getWeight(i, j), distances.getWeight(j, i));
+			}
+		}
+
+		route = new int[size];
+		bestOrder = null;
+		visited = new boolean[size];
+		children = new int[size][size];
+		bounds = new double[size][size];
+		treeNodes = new int[size];
+		treeKeys = new double[size];
+		upperBound = Double.MAX_VALUE;
+		exploredNodes = 0;
+	}
+
+	/**
+	 * Depth first search over the partial routes
+	 *
+	 * @param depth number of nodes in the partial route
+	 * @param cost  cost of the partial route
+	 */
+	private void search(int depth, double cost) {
+		if (token != null && token.isCancelled())
+			return;
+
+		exploredNodes++;
+		int last = route[depth - 1];
+
+		// complete route, close it back to home
+		if (depth == size) {
+			if (distances.hasEdge(last, 0)) {
+				double total = cost + distances.getWeight(last, 0);
+				if (total < upperBound) {
+					upperBound = total;
+					bestOrder = route.clone();
+					this.updateBestRoute();
+				}
+			}
+			return;
+		}
+
+		// bound every child and keep them sorted by the bound
+		int[] childNodes = children[depth];
+		double[] childBounds = bounds[depth];
+		int count = 0;
+		for (int next = 1; next < size; next++) {
+			if (visited[next] || !distances.hasEdge(last, next))
+				continue;
+
+			visited[next] = true;
+			double bound = cost + distances.getWeight(last, next) + this.spanningTreeBound(next);
+			visited[next] = false;
+			if (bound >= upperBound)
+				continue;
+
+			int position = count++;
+			while (position > 0 && childBounds[position - 1] > bound) {
+				childNodes[position] = childNodes[position - 1];
+				childBounds[position] = childBounds[position - 1];
+				position--;
+			}
+			childNodes[position] = next;
+			childBounds[position] = bound;
+		}
+
+		for (int i = 0; i < count; i++) {
+			// upper bound may have improved while exploring earlier children
+			if (childBounds[i] >= upperBound)
+				break;
+
+			int next = childNodes[i];
+			visited[next] = true;
+			route[depth] = next;
+			this.search(depth + 1, cost + distances.getWeight(last, next));
+			visited[next] = false;
+		}
+	}
+
+	/**
+	 * Weight of the minimum spanning tree over the unvisited nodes, the last node
+	 * and home. The rest of the route is a path through these nodes, so it can not
+	 * be cheaper than the tree
+	 *
+	 * @param last
+	 * @return
+	 */
+	private double spanningTreeBound(int last) {
+		int count = 0;
+		treeNodes[count++] = last;
+		if (last != 0)
+			treeNodes[count++] = 0;
+		for (int i = 1; i < size; i++) {
+			if (!visited[i])
+				treeNodes[count++] = i;
+		}
+
+		// Prim's algorithm on the dense matrix
+		for (int i = 1; i < count; i++) {
+			treeKeys[i] = undirected[last * size + treeNodes[i]];
+		}
+
+		double total = 0;
+		for (int added = 1; added < count; added++) {
+			int nearest = added;
+			for (int i = added + 1; i < count; i++) {
+				if (treeKeys[i] < treeKeys[nearest])
+					nearest = i;
+			}
+			if (treeKeys[nearest] == Double.POSITIVE_INFINITY)
+				return Double.POSITIVE_INFINITY;
+			total += treeKeys[nearest];
+
+			// move the nearest node to the tree part of the buffer
+			int node = treeNodes[nearest];
+			treeNodes[nearest] = treeNodes[added];
+			treeKeys[nearest] = treeKeys[added];
+			treeNodes[added] = node;
+
+			for (int i = added + 1; i < count; i++) {
+				double weight = undirected[node * size + treeNodes[i]];
+				if (weight < treeKeys[i])
+					treeKeys[i] = weight;
+			}
+		}
+
+		return total;
+	}
+
+	/**
+	 * Greedy nearest neighbour route from home. Sets the first upper bound when
+	 * the greedy route can be completed
+	 */
+	private void nearestNeighbour() {
+		int[] order = new int[size];
+		boolean[] used = new boolean[size];
+		used[0] = true;
+		double cost = 0;
+		int last = 0;
+
+		for (int depth = 1; depth < size; depth++) {
+			int nearest = -1;
+			for (int next = 1; next < size; next++) {
+				if (!used[next] && distances.hasEdge(last, next)
+						&& (nearest == -1 || distances.getWeight(last, next) < distances.getWeight(last, nearest)))
+					nearest = next;
+			}
+			if (nearest == -1)
+				return;
+
+			cost += distances.getWeight(last, nearest);
+			used[nearest] = true;
+			order[depth] = nearest;
+			last = nearest;
+		}
+
+		if (distances.hasEdge(last, 0)) {
+			upperBound = cost + distances.getWeight(last, 0);
+			bestOrder = order;
+		}
+	}
+
+	/**
+	 * getters and setters
+	 *
+	 * @return
+	 */
+	public List<N> getBestRoute() {
+		return bestRoute;
+	}
+
+	public void setBestRoute(List<N> bestRoute) {
+		this.bestRoute = bestRoute;
+	}
+
+	public Double getMinDistance() {
+		return minDistance;
+	}
+
+	public void setMinDistance(Double minDistance) {
+		this.minDistance = minDistance;
+	}
+
+	public long getExploredNodes() {
+		return exploredNodes;
+	}
+}
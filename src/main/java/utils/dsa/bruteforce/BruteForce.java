@@ -1,16 +1,21 @@
 package utils.dsa.bruteforce;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import utils.dsa.graph.Edge;
+import utils.dsa.graph.DistanceMatrix;
 import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.ProgressListener;
+import utils.dsa.tsp.TspResult;
+import utils.dsa.tsp.TspSolver;
 
-public class BruteForce<N> {
+public class BruteForce<N> implements TspSolver<N> {
 	private Double minDistance;
 	private List<N> bestRoute;
 	private Graph<N> graph;
+	private CancellationToken token;
+	private ProgressListener<N> listener;
 
 	/**
 	 * initialize the initial value
@@ -24,6 +29,24 @@ public class BruteForce<N> {
 		this.graph = graph;
 	}
 
+	/**
+	 * Solve the route by permuting all selected nodes. When the token is
+	 * cancelled the best permutation found so far is returned
+	 */
+	@Override
+	public TspResult<N> solve(N homeNode, List<N> selectedNodes, CancellationToken token,
+			ProgressListener<N> listener) {
+		this.token = token;
+		this.listener = listener;
+		try {
+			this.permute(selectedNodes, homeNode, 0);
+			return new TspResult<N>(bestRoute, minDistance, token == null || !token.isCancelled());
+		} finally {
+			this.token = null;
+			this.listener = null;
+		}
+	}
+
 	/**
 	 * Method to calculate best route and distance
 	 * 
@@ -39,48 +62,83 @@ public class BruteForce<N> {
 		if (selectedNodes.size() < 1)
 			throw new IllegalArgumentException("selected nodes must contains at  least 1 element");
 
-		if (start == selectedNodes.size()) {
+		// compile distances once, home node is index 0 and selected nodes follow it
+		List<N> vertices = new ArrayList<N>();
+		vertices.add(homeNode);
+		vertices.addAll(selectedNodes);
+		DistanceMatrix<N> distances = graph.toDistanceMatrix(vertices);
+
+		int[] order = new int[selectedNodes.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i + 1;
+		}
+		this.permute(order, start, distances);
+	}
+
+	/**
+	 * Permute the vertex indices from the start position
+	 * 
+	 * @param order
+	 * @param start
+	 * @param distances
+	 */
+	private void permute(int[] order, int start, DistanceMatrix<N> distances) {
+		if (token != null && token.isCancelled())
+			return;
+
+		if (start == order.length) {
 			// get distance from home to selected cities and home
-			double distance = calculateRouteDistance(selectedNodes, homeNode);
+			double distance = calculateRouteDistance(order, distances);
 			if (distance < minDistance) {
 				minDistance = distance;
 				bestRoute = new ArrayList<N>();
-				bestRoute.add(homeNode);
-				bestRoute.addAll(selectedNodes);
-				bestRoute.add(homeNode);
+				bestRoute.add(distances.getVertex(0));
+				for (int index : order) {
+					bestRoute.add(distances.getVertex(index));
+				}
+				bestRoute.add(distances.getVertex(0));
+				if (listener != null)
+					listener.onProgress(new TspResult<N>(bestRoute, minDistance, false));
 			}
 			return;
 		}
 
-		for (int i = start; i < selectedNodes.size(); i++) {
-			Collections.swap(selectedNodes, i, start);
-			permute(selectedNodes, homeNode, start + 1);
+		for (int i = start; i < order.length; i++) {
+			swap(order, i, start);
+			permute(order, start + 1, distances);
 			// reverse track
-			Collections.swap(selectedNodes, i, start);
+			swap(order, i, start);
 		}
 	}
 
+	/**
+	 * Swap two positions of the order array
+	 */
+	private void swap(int[] order, int i, int j) {
+		int temp = order[i];
+		order[i] = order[j];
+		order[j] = temp;
+	}
+
 	/**
 	 * method to calculate route distance from home node
 	 */
-	private Double calculateRouteDistance(List<N> nodes, N homeNode) {
+	private double calculateRouteDistance(int[] order, DistanceMatrix<N> distances) {
 		double total = 0;
-		N currentNode = homeNode;
+		int current = 0;
 
 		// get total distance from home to last node
-		for (N node : nodes) {
-			Edge<N> edge = graph.getEdge(currentNode, node);
-			if (edge == null)
+		for (int index : order) {
+			if (!distances.hasEdge(current, index))
 				throw new IllegalStateException("edge is not found");
-			total += edge.getWeight();
-			currentNode = node;
+			total += distances.getWeight(current, index);
+			current = index;
 		}
 
 		// add distance of last node to home node
-		Edge<N> edge = graph.getEdge(currentNode, homeNode);
-		if (edge == null)
+		if (!distances.hasEdge(current, 0))
 			throw new IllegalStateException("edge is not found");
-		total += edge.getWeight();
+		total += distances.getWeight(current, 0);
 		return total;
 	}
 
@@ -1,24 +1,46 @@
 package utils.dsa.genetic;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
-import utils.dsa.graph.Edge;
+import utils.dsa.graph.DistanceMatrix;
 import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.ProgressListener;
+import utils.dsa.tsp.TspResult;
+import utils.dsa.tsp.TspSolver;
+
+/**
+ * Island model genetic algorithm for the traveling sales man problem. The
+ * population is split between a fixed number of islands, every island evolves
+ * its part as a task of a ForkJoinPool and the best tours of each island
+ * migrate to the next island in a ring between epochs. The island count does
+ * not depend on the pool, so the work and the results do not depend on the
+ * machine
+ *
+ * @param <N>
+ */
+public class Genetic<N> implements TspSolver<N> {
+	public static final int DEFAULT_ISLAND_COUNT = 4;
 
-public class Genetic<N> {
 	private Graph<N> graph;
+	private ForkJoinPool pool;
 	private int populationSize;
 	private double mutationRate;
 	private int generations;
+	private int islandCount;
+	private int migrationInterval;
+	private int migrationSize;
 	private Random rand;
 	private List<N> bestRoute;
 	private Double minDistance;
+	private CancellationToken token;
+	private ProgressListener<N> listener;
 
 	/**
 	 * Initialize the initial values
@@ -26,17 +48,52 @@ public class Genetic<N> {
 	 * @param graph
 	 */
 	public Genetic(Graph<N> graph) {
+		this(graph, 100, 500, 0.05);
+	}
+
+	/**
+	 * Initialize the initial values with the algorithm parameters. Population size
+	 * is the population of all islands together
+	 * 
+	 * @param graph
+	 * @param populationSize
+	 * @param generations
+	 * @param mutationRate
+	 */
+	public Genetic(Graph<N> graph, int populationSize, int generations, double mutationRate) {
 		if (graph == null)
 			throw new IllegalArgumentException("graph should not be null");
 		this.graph = graph;
-		this.populationSize = 100;
-		this.mutationRate = 0.05;
-		this.generations = 500;
+		this.pool = ForkJoinPool.commonPool();
+		this.setPopulationSize(populationSize);
+		this.setGenerations(generations);
+		this.setMutationRate(mutationRate);
+		this.setIslandCount(DEFAULT_ISLAND_COUNT);
+		this.setMigrationInterval(50);
+		this.setMigrationSize(2);
 		this.rand = new Random();
 		bestRoute = new ArrayList<N>();
 		minDistance = Double.MAX_VALUE;
 	}
 
+	/**
+	 * Solve the route with the genetic algorithm. The best route is reported after
+	 * every epoch and the islands stop early when the token is cancelled
+	 */
+	@Override
+	public TspResult<N> solve(N homeNode, List<N> selectedNodes, CancellationToken token,
+			ProgressListener<N> listener) {
+		this.token = token;
+		this.listener = listener;
+		try {
+			this.calculate(selectedNodes, homeNode);
+			return new TspResult<N>(bestRoute, minDistance, token == null || !token.isCancelled());
+		} finally {
+			this.token = null;
+			this.listener = null;
+		}
+	}
+
 	/**
 	 * Calculate the shortest path and distance from genetic algorithm
 	 * 
@@ -51,164 +108,111 @@ public class Genetic<N> {
 		if (selectedNodes.size() < 1)
 			throw new IllegalArgumentException("selected nodes should have at least 1 nodes");
 
-		List<List<N>> population = initializePopulation(selectedNodes);
-		List<N> best = new ArrayList<>();
-		double bestDistance = Double.MAX_VALUE;
-
-		for (int gen = 0; gen < generations; gen++) {
-			population.sort(Comparator.comparingDouble(this::calculateDistance));
+		// compile distances once, home node is index 0 and selected nodes follow it
+		List<N> vertices = new ArrayList<N>();
+		vertices.add(homeNode);
+		vertices.addAll(selectedNodes);
+		DistanceMatrix<N> distances = graph.toDistanceMatrix(vertices);
+		this.bestRoute = new ArrayList<N>();
+		this.minDistance = Double.MAX_VALUE;
+
+		// split the population evenly, every island has at least one tour
+		int count = Math.min(islandCount, populationSize);
+		List<Island> islands = new ArrayList<Island>();
+		for (int i = 0; i < count; i++) {
+			int size = populationSize / count + (i < populationSize % count ? 1 : 0);
+			islands.add(new Island(distances, size, mutationRate, new Random(rand.nextLong())));
+		}
 
-			if (calculateDistance(population.get(0)) < bestDistance) {
-				bestDistance = calculateDistance(population.get(0));
-				best = population.get(0);
+		// islands evolve in parallel for an epoch, then migrate on this thread
+		this.updateBestRoute(islands, distances);
+		for (int gen = 0; gen < generations; gen += migrationInterval) {
+			if (token != null && token.isCancelled())
+				break;
+
+			int epoch = Math.min(migrationInterval, generations - gen);
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+			for (Island island : islands) {
+				tasks.add(() -> {
+					island.evolve(epoch, token);
+					return null;
+				});
 			}
-
-			List<List<N>> newPopulation = new ArrayList<>();
-
-			// Elitism: carry forward best 10%
-			int eliteCount = populationSize / 10;
-			newPopulation.addAll(population.subList(0, eliteCount));
-
-			while (newPopulation.size() < populationSize) {
-				List<N> parent1 = this.selectParent(population);
-				List<N> parent2 = this.selectParent(population);
-
-				List<N> child = crossover(parent1, parent2);
-				mutate(child);
-				newPopulation.add(child);
+			for (Future<Void> task : pool.invokeAll(tasks)) {
+				try {
+					task.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("genetic algorithm is interrupted");
+				} catch (ExecutionException e) {
+					throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+				}
 			}
 
-			population = newPopulation;
-		}
-
-		// Return the best path including home to home
-		List<N> completePath = new ArrayList<>();
-		completePath.add(homeNode);
-		completePath.addAll(best);
-		completePath.add(homeNode);
-
-		this.bestRoute = completePath;
-		this.minDistance = calculatePathDistance(completePath);
-	}
-
-	/**
-	 * mutate method in genetic algorithm
-	 * 
-	 * @param child
-	 */
-	private void mutate(List<N> child) {
-		if (rand.nextDouble() < mutationRate) {
-			int i = rand.nextInt(child.size());
-			int j = rand.nextInt(child.size());
-			Collections.swap(child, i, j);
+			if (islands.size() > 1)
+				this.migrate(islands);
+			this.updateBestRoute(islands, distances);
 		}
 	}
 
 	/**
-	 * Cross over method in genetic algorithm
+	 * Set the best route of all islands and report it as progress when it is
+	 * shorter than the previous best route
 	 * 
-	 * @param parent1
-	 * @param parent2
-	 * @return
+	 * @param islands
+	 * @param distances
 	 */
-	private List<N> crossover(List<N> parent1, List<N> parent2) {
-		// Order crossover (OX1)
-		int size = parent1.size();
-		int start = rand.nextInt(size);
-		int end = start + rand.nextInt(size - start);
-
-		Set<N> segment = new HashSet<N>(parent1.subList(start, end));
-		List<N> child = new ArrayList<>(Collections.nCopies(size, null));
-
-		for (int i = start; i < end; i++) {
-			child.set(i, parent1.get(i));
-		}
-
-		int currentIndex = end % size;
-		for (N gene : parent2) {
-			if (!segment.contains(gene)) {
-				while (child.get(currentIndex) != null) {
-					currentIndex = (currentIndex + 1) % size;
-				}
-				child.set(currentIndex, gene);
-			}
+	private void updateBestRoute(List<Island> islands, DistanceMatrix<N> distances) {
+		Island best = islands.get(0);
+		for (Island island : islands) {
+			if (island.getBestDistance() < best.getBestDistance())
+				best = island;
 		}
 
-		return child;
-	}
+		double distance = best.getBestDistance() == Double.POSITIVE_INFINITY ? Double.MAX_VALUE
+				: best.getBestDistance();
+		if (!bestRoute.isEmpty() && distance >= minDistance)
+			return;
 
-	/**
-	 * Select parent method in genetic algorithm
-	 * 
-	 * @param population
-	 * @return
-	 */
-	private List<N> selectParent(List<List<N>> population) {
-		List<List<N>> tournament = new ArrayList<List<N>>();
-		for (int i = 0; i < 5; i++) {
-			tournament.add(population.get(rand.nextInt(population.size())));
+		// Return the best path including home to home
+		List<N> completePath = new ArrayList<>();
+		completePath.add(distances.getVertex(0));
+		for (int index : best.getBestTour()) {
+			completePath.add(distances.getVertex(index));
 		}
-		tournament.sort(Comparator.comparingDouble(this::calculateDistance));
-		return new ArrayList<>(tournament.get(0));
+		completePath.add(distances.getVertex(0));
 
+		this.bestRoute = completePath;
+		this.minDistance = distance;
+		if (listener != null)
+			listener.onProgress(new TspResult<N>(bestRoute, minDistance, false));
 	}
 
 	/**
-	 * Initialize population
+	 * Ring migration, the best tours of each island replace the worst tours of the
+	 * next island
 	 * 
-	 * @param selectedNode
-	 * @return
+	 * @param islands
 	 */
-	private List<List<N>> initializePopulation(List<N> selectedNode) {
-		List<List<N>> population = new ArrayList<List<N>>();
-		for (int i = 0; i < populationSize; i++) {
-			List<N> shuffled = new ArrayList<N>(selectedNode);
-			Collections.shuffle(shuffled);
-			population.add(shuffled);
+	private void migrate(List<Island> islands) {
+		List<int[][]> migrants = new ArrayList<int[][]>();
+		for (Island island : islands) {
+			migrants.add(island.getElites(migrationSize));
 		}
-		return population;
-	}
-
-	/**
-	 * Calculate distance method in genetic algorithm
-	 * 
-	 * @param path
-	 * @return
-	 */
-	private Double calculateDistance(List<N> path) {
-		Double distance = 0.0;
-		for (int i = 0; i < path.size() - 1; i++) {
-			Edge<N> edge = graph.getEdge(path.get(i), path.get(i + 1));
-			if (edge == null)
-				return Double.MAX_VALUE;
-			distance += edge.getWeight();
+		for (int i = 0; i < islands.size(); i++) {
+			islands.get((i + 1) % islands.size()).acceptMigrants(migrants.get(i));
 		}
-
-		// Return to home
-		Edge<N> back = graph.getEdge(path.get(path.size() - 1), path.get(0));
-		if (back == null)
-			return Double.MAX_VALUE;
-		distance += back.getWeight();
-
-		return distance;
 	}
 
 	/**
-	 * Get the distance in best path calculated by the algorithm
+	 * Set the pool used to evolve the islands
 	 * 
-	 * @param bestPath
-	 * @return
+	 * @param pool
 	 */
-	private Double calculatePathDistance(List<N> bestPath) {
-		Double distance = 0.0;
-		for (int i = 0; i < bestPath.size() - 1; i++) {
-			Edge<N> edge = graph.getEdge(bestPath.get(i), bestPath.get(i + 1));
-			if (edge == null)
-				return Double.MAX_VALUE;
-			distance += edge.getWeight();
-		}
-
-		return distance;
+	public void setPool(ForkJoinPool pool) {
+		if (pool == null)
+			throw new IllegalArgumentException("pool should not be null");
+		this.pool = pool;
 	}
 
 	/**
@@ -232,4 +236,63 @@ public class Genetic<N> {
 		this.minDistance = minDistance;
 	}
 
+	public int getPopulationSize() {
+		return populationSize;
+	}
+
+	public void setPopulationSize(int populationSize) {
+		if (populationSize < 1)
+			throw new IllegalArgumentException("population size should be at least 1");
+		this.populationSize = populationSize;
+	}
+
+	public int getGenerations() {
+		return generations;
+	}
+
+	public void setGenerations(int generations) {
+		if (generations < 0)
+			throw new IllegalArgumentException("generations should not be negative");
+		this.generations = generations;
+	}
+
+	public double getMutationRate() {
+		return mutationRate;
+	}
+
+	public void setMutationRate(double mutationRate) {
+		if (mutationRate < 0 || mutationRate > 1)
+			throw new IllegalArgumentException("mutation rate should be between 0 and 1");
+		this.mutationRate = mutationRate;
+	}
+
+	public int getIslandCount() {
+		return islandCount;
+	}
+
+	public void setIslandCount(int islandCount) {
+		if (islandCount < 1)
+			throw new IllegalArgumentException("island count should be at least 1");
+		this.islandCount = islandCount;
+	}
+
+	public int getMigrationInterval() {
+		return migrationInterval;
+	}
+
+	public void setMigrationInterval(int migrationInterval) {
+		if (migrationInterval < 1)
+			throw new IllegalArgumentException("migration interval should be at least 1");
+		this.migrationInterval = migrationInterval;
+	}
+
+	public int getMigrationSize() {
+		return migrationSize;
+	}
+
+	public void setMigrationSize(int migrationSize) {
+		if (migrationSize < 0)
+			throw new IllegalArgumentException("migration size should not be negative");
+		this.migrationSize = migrationSize;
+	}
 }
@@ -0,0 +1,267 @@
+package utils.dsa.genetic;
+
+import java.util.Random;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.tsp.CancellationToken;
+
+/**
+ * One island of the genetic algorithm. Tours are int arrays of distance matrix
+ * indices without the home node, which is always index 0. Fitness values are
+ * cached next to the tours and the next generation is written into a second
+ * buffer, so evolving an island does not allocate
+ */
+class Island {
+	private static final int TOURNAMENT_SIZE = 5;
+
+	private final DistanceMatrix<?> distances;
+	private final double mutationRate;
+	private final Random rand;
+	private final int genes;
+
+	private int[][] population;
+	private double[] fitness;
+	private int[][] nextPopulation;
+	private double[] nextFitness;
+	private final int[] eliteIndex;
+	// crossover marks genes copied from the first parent with the current stamp
+	private final int[] geneStamp;
+	private int stamp;
+
+	/**
+	 * Create an island with a random population
+	 *
+	 * @param distances
+	 * @param populationSize
+	 * @param mutationRate
+	 * @param rand
+	 */
+	Island(DistanceMatrix<?> distances, int populationSize, double mutationRate, Random rand) {
+		this.distances = distances;
+		this.mutationRate = mutationRate;
+		this.rand = rand;
+		this.genes = distances.size() - 1;
+
+		population = new int[populationSize][genes];
+		fitness = new double[populationSize];
+		nextPopulation = new int[populationSize][genes];
+		nextFitness = new double[populationSize];
+		eliteIndex = new int[Math.max(populationSize / 10, 1)];
+		geneStamp = new int[distances.size()];
+
+		for (int i = 0; i < populationSize; i++) {
+			int[] tour = population[i];
+			for (int j = 0; j < genes; j++) {
+				tour[j] = j + 1;
+			}
+			// Fisher-Yates shuffle
+			for (int j = genes - 1; j > 0; j--) {
+				swap(tour, j, rand.nextInt(j + 1));
+			}
+			fitness[i] = this.tourDistance(tour);
+		}
+	}
+
+	/**
+	 * Evolve the island for the given number of generations or until the token is
+	 * cancelled
+	 *
+	 * @param generations
+	 * @param token       cancellation token, can be null
+	 */
+	void evolve(int generations, CancellationToken token) {
+		int size = population.length;
+		for (int gen = 0; gen < generations; gen++) {
+			if (token != null && token.isCancelled())
+				return;
+
+			// Elitism: carry forward best 10%
+			int eliteCount = this.selectElites(size / 10);
+			for (int i = 0; i < eliteCount; i++) {
+				System.arraycopy(population[eliteIndex[i]], 0, nextPopulation[i], 0, genes);
+				nextFitness[i] = fitness[eliteIndex[i]];
+			}
+
+			for (int i = eliteCount; i < size; i++) {
+				int[] child = nextPopulation[i];
+				this.crossover(population[this.selectParent()], population[this.selectParent()], child);
+				this.mutate(child);
+				nextFitness[i] = this.tourDistance(child);
+			}
+
+			// swap the generation buffers
+			int[][] tempPopulation = population;
+			population = nextPopulation;
+			nextPopulation = tempPopulation;
+			double[] tempFitness = fitness;
+			fitness = nextFitness;
+			nextFitness = tempFitness;
+		}
+	}
+
+	/**
+	 * Copy of the best tours of the island, best first
+	 *
+	 * @param count
+	 * @return
+	 */
+	int[][] getElites(int count) {
+		int eliteCount = this.selectElites(count);
+		int[][] elites = new int[eliteCount][];
+		for (int i = 0; i < eliteCount; i++) {
+			elites[i] = population[eliteIndex[i]].clone();
+		}
+		return elites;
+	}
+
+	/**
+	 * Replace the worst tours of the island with migrants from another island
+	 *
+	 * @param migrants
+	 */
+	void acceptMigrants(int[][] migrants) {
+		for (int[] migrant : migrants) {
+			int worst = 0;
+			for (int i = 1; i < fitness.length; i++) {
+				if (fitness[i] > fitness[worst])
+					worst = i;
+			}
+			System.arraycopy(migrant, 0, population[worst], 0, genes);
+			fitness[worst] = this.tourDistance(migrant);
+		}
+	}
+
+	/**
+	 * Best tour of the island
+	 *
+	 * @return
+	 */
+	int[] getBestTour() {
+		return population[this.bestIndex()];
+	}
+
+	/**
+	 * Distance of the best tour of the island
+	 *
+	 * @return
+	 */
+	double getBestDistance() {
+		return fitness[this.bestIndex()];
+	}
+
+	private int bestIndex() {
+		int best = 0;
+		for (int i = 1; i < fitness.length; i++) {
+			if (fitness[i] < fitness[best])
+				best = i;
+		}
+		return best;
+	}
+
+	/**
+	 * Partial selection of the best tours into eliteIndex, best first
+	 *
+	 * @param count
+	 * @return number of selected elites
+	 */
+	private int selectElites(int count) {
+		count = Math.min(count, eliteIndex.length);
+		if (count <= 0)
+			return 0;
+
+		int filled = 0;
+		for (int i = 0; i < population.length; i++) {
+			double value = fitness[i];
+			int position;
+			if (filled < count) {
+				position = filled++;
+			} else if (value < fitness[eliteIndex[count - 1]]) {
+				position = count - 1;
+			} else {
+				continue;
+			}
+
+			while (position > 0 && fitness[eliteIndex[position - 1]] > value) {
+				eliteIndex[position] = eliteIndex[position - 1];
+				position--;
+			}
+			eliteIndex[position] = i;
+		}
+		return filled;
+	}
+
+	/**
+	 * Tournament selection on the cached fitness values
+	 *
+	 * @return index of the selected parent
+	 */
+	private int selectParent() {
+		int best = rand.nextInt(population.length);
+		for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+			int candidate = rand.nextInt(population.length);
+			if (fitness[candidate] < fitness[best])
+				best = candidate;
+		}
+		return best;
+	}
+
+	/**
+	 * Order crossover (OX1) of two parents into the child buffer
+	 *
+	 * @param parent1
+	 * @param parent2
+	 * @param child
+	 */
+	private void crossover(int[] parent1, int[] parent2, int[] child) {
+		int start = rand.nextInt(genes);
+		int end = start + rand.nextInt(genes - start);
+
+		stamp++;
+		for (int i = start; i < end; i++) {
+			child[i] = parent1[i];
+			geneStamp[parent1[i]] = stamp;
+		}
+
+		int currentIndex = end % genes;
+		for (int gene : parent2) {
+			if (geneStamp[gene] != stamp) {
+				child[currentIndex] = gene;
+				currentIndex = (currentIndex + 1) % genes;
+			}
+		}
+	}
+
+	/**
+	 * Swap mutation
+	 *
+	 * @param child
+	 */
+	private void mutate(int[] child) {
+		if (rand.nextDouble() < mutationRate) {
+			swap(child, rand.nextInt(genes), rand.nextInt(genes));
+		}
+	}
+
+	/**
+	 * Distance of a tour from home and back to home. Tours with missing edges
+	 * have infinite distance
+	 *
+	 * @param tour
+	 * @return
+	 */
+	double tourDistance(int[] tour) {
+		double distance = 0;
+		int current = 0;
+		for (int gene : tour) {
+			distance += distances.getWeight(current, gene);
+			current = gene;
+		}
+		return distance + distances.getWeight(current, 0);
+	}
+
+	private static void swap(int[] tour, int i, int j) {
+		int temp = tour[i];
+		tour[i] = tour[j];
+		tour[j] = temp;
+	}
+}
@@ -0,0 +1,129 @@
+package utils.dsa.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable dense distance matrix compiled from a Graph. Every vertex is mapped
+ * to an int index and the weights are stored row-major in a primitive array, so
+ * weight lookups are O(1) without walking edge lists. Missing edges are stored
+ * as positive infinity
+ *
+ * @param <T>
+ */
+public final class DistanceMatrix<T> {
+	private final List<T> vertices;
+	private final Map<T, Integer> vertexIndex;
+	private final double[] weights;
+	private final int size;
+
+	/**
+	 * Compile a distance matrix for the given vertices. The index of a vertex in
+	 * the matrix is its position in the given list
+	 *
+	 * @param graph
+	 * @param vertices
+	 */
+	public DistanceMatrix(Graph<T> graph, List<T> vertices) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph should not be null");
+		if (vertices == null)
+			throw new IllegalArgumentException("vertices should not be null");
+
+		this.size = vertices.size();
+		this.vertices = Collections.unmodifiableList(new ArrayList<T>(vertices));
+		this.vertexIndex = new HashMap<T, Integer>();
+		for (int i = 0; i < size; i++) {
+			T vertex = vertices.get(i);
+			if (vertex == null)
+				throw new IllegalArgumentException("vertex can not be null");
+			vertexIndex.putIfAbsent(vertex, i);
+		}
+
+		this.weights = new double[size * size];
+		Arrays.fill(weights, Double.POSITIVE_INFINITY);
+		for (int i = 0; i < size; i++) {
+			List<Edge<T>> edgesList = graph.getNeighbors(this.vertices.get(i));
+			if (edgesList == null)
+				continue;
+
+			// first matching edge wins, same as Graph.getEdge
+			boolean[] filled = new boolean[size];
+			for (Edge<T> edge : edgesList) {
+				Integer j = vertexIndex.get(edge.getDestination());
+				if (j != null && !filled[j]) {
+					weights[i * size + j] = edge.getWeight();
+					filled[j] = true;
+				}
+			}
+		}
+
+		// repeated vertices share the weights of their first occurrence
+		for (int i = 0; i < size; i++) {
+			int fromRow = vertexIndex.get(this.vertices.get(i));
+			for (int j = 0; j < size; j++) {
+				int fromColumn = vertexIndex.get(this.vertices.get(j));
+				weights[i * size + j] = weights[fromRow * size + fromColumn];
+			}
+		}
+	}
+
+	/**
+	 * Get the weight of the edge between two vertex indices. If there is no such
+	 * a edge its returns positive infinity
+	 *
+	 * @param source
+	 * @param destination
+	 * @return
+	 */
+	public double getWeight(int source, int destination) {
+		return weights[source * size + destination];
+	}
+
+	/**
+	 * Check an edge exists between two vertex indices
+	 *
+	 * @param source
+	 * @param destination
+	 * @return
+	 */
+	public boolean hasEdge(int source, int destination) {
+		return weights[source * size + destination] != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Get the index of a vertex. If the vertex is not in the matrix its returns -1
+	 *
+	 * @param vertex
+	 * @return
+	 */
+	public int indexOf(T vertex) {
+		Integer index = vertexIndex.get(vertex);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the vertex stored in a index
+	 *
+	 * @param index
+	 * @return
+	 */
+	public T getVertex(int index) {
+		return vertices.get(index);
+	}
+
+	/**
+	 * getters for matrix properties
+	 */
+	public List<T> getVertices() {
+		return vertices;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -104,4 +104,14 @@ public class Graph<T> {
 		}
 		return null;
 	}
+
+	/**
+	 * Compile a dense distance matrix for the given vertices
+	 * 
+	 * @param vertices
+	 * @return
+	 */
+	public DistanceMatrix<T> toDistanceMatrix(List<T> vertices) {
+		return new DistanceMatrix<T>(this, vertices);
+	}
 }
@@ -1,17 +1,33 @@
 package utils.dsa.heldkarp;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
-import utils.dsa.graph.Edge;
+import utils.dsa.graph.DistanceMatrix;
 import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.ProgressListener;
+import utils.dsa.tsp.TspResult;
+import utils.dsa.tsp.TspSolver;
+
+/**
+ * Held-Karp dynamic programming for the traveling sales man problem. The table
+ * is computed layer by layer on subset size, only the previous layer of costs
+ * is kept and each layer is split between the workers of a ForkJoinPool.
+ * Parents are stored as byte city indices for route reconstruction
+ *
+ * @param <N>
+ */
+public class HeldKarp<N> implements TspSolver<N> {
+	// the largest layer of 23 non home cities holds 16 million costs, more cities
+	// run out of memory and overflow the int layer sizes from about 30 cities
+	public static final int MAX_NODES = 24;
 
-public class HeldKarp<N> {
 	private Graph<N> graph;
+	private ForkJoinPool pool;
+	private CancellationToken token;
 	List<N> bestRoute;
 	Double minCost;
 
@@ -21,14 +37,60 @@ public class HeldKarp<N> {
 	 * @param graph
 	 */
 	public HeldKarp(Graph<N> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * initialize the initial value with the pool used to compute the layers
+	 * 
+	 * @param graph
+	 * @param pool
+	 */
+	public HeldKarp(Graph<N> graph, ForkJoinPool pool) {
 		if (graph == null)
 			throw new IllegalArgumentException("graph should not be null");
+		if (pool == null)
+			throw new IllegalArgumentException("pool should not be null");
 
 		this.graph = graph;
+		this.pool = pool;
 		minCost = Double.POSITIVE_INFINITY;
 		bestRoute = new ArrayList<>();
 	}
 
+	/**
+	 * Solve the route with Held-Karp. The table has no route before the last
+	 * layer, so a cancelled run returns an empty route with infinite cost
+	 */
+	@Override
+	public TspResult<N> solve(N homeNode, List<N> selectedNodes, CancellationToken token,
+			ProgressListener<N> listener) {
+		if (homeNode == null)
+			throw new IllegalArgumentException("home node should not be null");
+		if (selectedNodes == null)
+			throw new IllegalArgumentException("selectedNodes should not be null");
+
+		List<N> nodes = new ArrayList<N>();
+		nodes.add(homeNode);
+		nodes.addAll(selectedNodes);
+
+		this.token = token;
+		try {
+			bestRoute = new ArrayList<>();
+			minCost = Double.POSITIVE_INFINITY;
+			this.calculate(nodes);
+			if (token != null && token.isCancelled())
+				return new TspResult<N>(new ArrayList<N>(), Double.POSITIVE_INFINITY, false);
+
+			TspResult<N> result = new TspResult<N>(bestRoute, minCost, true);
+			if (listener != null)
+				listener.onProgress(result);
+			return result;
+		} finally {
+			this.token = null;
+		}
+	}
+
 	/**
 	 * Method to calculate the best route and distance
 	 * 
@@ -37,49 +99,42 @@ public class HeldKarp<N> {
 	public void calculate(List<N> selectedNodes) {
 		if (selectedNodes == null)
 			throw new IllegalArgumentException("selectedNodes should not be null");
+		if (selectedNodes.size() > MAX_NODES)
+			throw new IllegalArgumentException("selectedNodes should not have more than " + MAX_NODES + " nodes");
 
 		int n = selectedNodes.size();
-		Map<N, Integer> cityIndex = new HashMap<N, Integer>();
-		for (int i = 0; i < n; i++) {
-			cityIndex.put(selectedNodes.get(i), i);
+		DistanceMatrix<N> distances = graph.toDistanceMatrix(selectedNodes);
+
+		// bit b of a subset is the city in matrix index b + 1, home city is index 0
+		int cities = Math.max(n - 1, 0);
+		SubsetIndex index = new SubsetIndex(cities);
+		byte[][] parents = new byte[cities + 1][];
+		double[] layer = new double[cities];
+
+		// first layer is the edge from home city, so every parent is home city
+		if (cities > 0)
+			parents[1] = new byte[cities];
+		for (int city = 0; city < cities; city++) {
+			layer[city] = distances.getWeight(0, city + 1);
 		}
 
-		double[][] dp = new double[1 << n][n];
-		int[][] parent = new int[1 << n][n];
-
-		for (double[] row : dp)
-			Arrays.fill(row, Double.POSITIVE_INFINITY);
-		for (int[] row : parent)
-			Arrays.fill(row, -1);
-
-		// home city
-		dp[1][0] = 0;
-
-		for (int mask = 1; mask < (1 << n); mask++) {
-			for (int u = 0; u < n; u++) {
-				if ((mask & (1 << u)) == 0)
-					continue;
-
-				for (int v = 0; v < n; v++) {
-					if ((mask & (1 << v)) != 0 || graph.getEdge(selectedNodes.get(u), selectedNodes.get(v)) == null)
-						continue;
-
-					int nextMask = mask | (1 << v);
-					double weight = graph.getEdge(selectedNodes.get(u), selectedNodes.get(v)).getWeight();
-					if (dp[nextMask][v] > dp[mask][u] + weight) {
-						dp[nextMask][v] = dp[mask][u] + weight;
-						parent[nextMask][v] = u;
-					}
-				}
-			}
+		for (int size = 2; size <= cities; size++) {
+			int count = index.count(size);
+			double[] next = new double[count * size];
+			parents[size] = new byte[count * size];
+			pool.invoke(new LayerTask(distances, index, size, layer, next, parents[size], 0, count, token));
+			// a cancelled layer is only partly filled
+			if (token != null && token.isCancelled())
+				return;
+			layer = next;
 		}
 
 		int lastCity = -1;
 
+		// last layer has a single subset, so its slots are ordered by city
 		for (int i = 1; i < n; i++) {
-			Edge<N> returnEdge = graph.getEdge(selectedNodes.get(i), selectedNodes.get(0));
-			if (returnEdge != null) {
-				double cost = dp[(1 << n) - 1][i] + returnEdge.getWeight();
+			if (distances.hasEdge(i, 0)) {
+				double cost = layer[i - 1] + distances.getWeight(i, 0);
 				if (cost < minCost) {
 					minCost = cost;
 					lastCity = i;
@@ -88,12 +143,18 @@ public class HeldKarp<N> {
 		}
 
 		// Reconstruct the path
-		int mask = (1 << n) - 1;
-		while (lastCity != -1) {
-			bestRoute.add(selectedNodes.get(lastCity));
-			int temp = parent[mask][lastCity];
-			mask ^= (1 << lastCity);
-			lastCity = temp;
+		if (lastCity != -1) {
+			int mask = (1 << cities) - 1;
+			int city = lastCity;
+			while (city != 0) {
+				bestRoute.add(selectedNodes.get(city));
+				int size = Integer.bitCount(mask);
+				int bit = city - 1;
+				int slot = index.rank(mask) * size + Integer.bitCount(mask & ((1 << bit) - 1));
+				mask ^= (1 << bit);
+				city = parents[size][slot];
+			}
+			bestRoute.add(selectedNodes.get(0));
 		}
 
 		Collections.reverse(bestRoute);
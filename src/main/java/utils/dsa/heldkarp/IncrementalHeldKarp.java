@@ -0,0 +1,159 @@
+package utils.dsa.heldkarp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.graph.Graph;
+import utils.dsa.tsp.TspResult;
+
+/**
+ * Held-Karp that keeps its table while cities are appended one at a time.
+ * Colexicographic ranks of the subsets do not depend on the number of cities,
+ * so the subsets of the old cities keep their slots and adding a city only
+ * computes the subsets that contain it. The optimal route over the current
+ * cities is available after every append
+ *
+ * Weights are read when a city is added, so the graph should not change while
+ * the table is in use
+ *
+ * @param <N>
+ */
+public class IncrementalHeldKarp<N> {
+	// every layer is kept, 19 non home cities take about 40 MB of costs
+	public static final int MAX_NODES = 20;
+
+	private Graph<N> graph;
+	private List<N> nodes;
+	private DistanceMatrix<N> distances;
+	// costs and parents of every layer, indexed by subset size
+	private double[][] costs;
+	private byte[][] parents;
+	private List<N> bestRoute;
+	private Double minCost;
+
+	/**
+	 * Initialize the table with the home node only
+	 *
+	 * @param graph
+	 * @param homeNode
+	 */
+	public IncrementalHeldKarp(Graph<N> graph, N homeNode) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph should not be null");
+		if (homeNode == null)
+			throw new IllegalArgumentException("home node should not be null");
+
+		this.graph = graph;
+		this.nodes = new ArrayList<N>();
+		this.nodes.add(homeNode);
+		this.costs = new double[MAX_NODES][];
+		this.parents = new byte[MAX_NODES][];
+		this.bestRoute = new ArrayList<N>();
+		this.minCost = Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Append a city and extend the table with the subsets that contain it
+	 *
+	 * @param node
+	 * @return optimal route through the home node and every added city
+	 */
+	public TspResult<N> addNode(N node) {
+		if (node == null)
+			throw new IllegalArgumentException("node should not be null");
+		if (nodes.contains(node))
+			throw new IllegalArgumentException("node is already added");
+		if (nodes.size() >= MAX_NODES)
+			throw new IllegalArgumentException("nodes should not have more than " + MAX_NODES + " nodes");
+
+		nodes.add(node);
+		distances = graph.toDistanceMatrix(nodes);
+
+		// bit b of a subset is the city in matrix index b + 1, home city is index 0
+		int cities = nodes.size() - 1;
+		int added = cities - 1;
+		SubsetIndex oldIndex = new SubsetIndex(added);
+		SubsetIndex index = new SubsetIndex(cities);
+
+		for (int size = 1; size <= cities; size++) {
+			int from = size <= added ? oldIndex.count(size) : 0;
+			int to = index.count(size);
+			costs[size] = costs[size] == null ? new double[to * size] : Arrays.copyOf(costs[size], to * size);
+			parents[size] = parents[size] == null ? new byte[to * size] : Arrays.copyOf(parents[size], to * size);
+
+			if (size == 1) {
+				// first layer is the edge from home city, so the parent is home city
+				costs[1][added] = distances.getWeight(0, cities);
+				parents[1][added] = 0;
+			} else {
+				new LayerTask(distances, index, size, costs[size - 1], costs[size], parents[size], from, to, null)
+						.invoke();
+			}
+		}
+
+		this.closeRoute(index);
+		return new TspResult<N>(bestRoute, minCost, true);
+	}
+
+	/**
+	 * Close the route from the last layer back to home and rebuild it from the
+	 * parents
+	 *
+	 * @param index
+	 */
+	private void closeRoute(SubsetIndex index) {
+		int cities = nodes.size() - 1;
+		double[] layer = costs[cities];
+		bestRoute = new ArrayList<N>();
+		minCost = Double.POSITIVE_INFINITY;
+		int lastCity = -1;
+
+		// last layer has a single subset, so its slots are ordered by city
+		for (int i = 1; i <= cities; i++) {
+			if (distances.hasEdge(i, 0)) {
+				double cost = layer[i - 1] + distances.getWeight(i, 0);
+				if (cost < minCost) {
+					minCost = cost;
+					lastCity = i;
+				}
+			}
+		}
+
+		if (lastCity == -1)
+			return;
+
+		int mask = (1 << cities) - 1;
+		int city = lastCity;
+		bestRoute.add(nodes.get(0));
+		while (city != 0) {
+			bestRoute.add(nodes.get(city));
+			int size = Integer.bitCount(mask);
+			int bit = city - 1;
+			int slot = index.rank(mask) * size + Integer.bitCount(mask & ((1 << bit) - 1));
+			mask ^= (1 << bit);
+			city = parents[size][slot];
+		}
+		bestRoute.add(nodes.get(0));
+		Collections.reverse(bestRoute);
+	}
+
+	/**
+	 * getters
+	 *
+	 * @return
+	 */
+	public List<N> getNodes() {
+		return Collections.unmodifiableList(nodes);
+	}
+
+	public List<N> getBestRoute() {
+		return bestRoute;
+	}
+
+	public Double getMinCost() {
+		return minCost;
+	}
+}
@@ -0,0 +1,107 @@
+package utils.dsa.heldkarp;
+
+import java.util.concurrent.RecursiveAction;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.tsp.CancellationToken;
+
+/**
+ * Fork join task that fills one popcount layer of the Held-Karp table from the
+ * previous layer. Every state only reads the previous layer and writes its own
+ * slot, so the rank range can be split between workers without locking
+ */
+class LayerTask extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	// rank ranges smaller than this are computed in the current worker
+	private static final int THRESHOLD = 1 << 11;
+
+	private final DistanceMatrix<?> distances;
+	private final SubsetIndex index;
+	private final int size;
+	private final double[] previous;
+	private final double[] current;
+	private final byte[] parents;
+	private final int from;
+	private final int to;
+	private final CancellationToken token;
+
+	/**
+	 * Create a task for the ranks [from, to) of the subsets with the given size.
+	 * Costs and parents are stored in rank * size + position of the end city in
+	 * the subset. Matrix index of the city for bit b is b + 1, home is index 0
+	 * 
+	 * @param distances
+	 * @param index
+	 * @param size
+	 * @param previous
+	 * @param current
+	 * @param parents
+	 * @param from
+	 * @param to
+	 * @param token     cancellation token, can be null
+	 */
+	LayerTask(DistanceMatrix<?> distances, SubsetIndex index, int size, double[] previous, double[] current,
+			byte[] parents, int from, int to, CancellationToken token) {
+		this.distances = distances;
+		this.index = index;
+		this.size = size;
+		this.previous = previous;
+		this.current = current;
+		this.parents = parents;
+		this.from = from;
+		this.to = to;
+		this.token = token;
+	}
+
+	@Override
+	protected void compute() {
+		if (token != null && token.isCancelled())
+			return;
+
+		if (to - from <= THRESHOLD) {
+			computeDirectly();
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		invokeAll(new LayerTask(distances, index, size, previous, current, parents, from, middle, token),
+				new LayerTask(distances, index, size, previous, current, parents, middle, to, token));
+	}
+
+	/**
+	 * Fill the layer slots of the task rank range
+	 */
+	private void computeDirectly() {
+		int mask = index.unrank(from, size);
+		for (int rank = from; rank < to; rank++) {
+			int slot = rank * size;
+			for (int bits = mask; bits != 0; bits &= bits - 1) {
+				int end = Integer.numberOfTrailingZeros(bits);
+				int previousMask = mask & ~(1 << end);
+				int previousSlot = index.rank(previousMask) * (size - 1);
+
+				double best = Double.POSITIVE_INFINITY;
+				int parent = 0;
+				int position = 0;
+				for (int previousBits = previousMask; previousBits != 0; previousBits &= previousBits - 1) {
+					int city = Integer.numberOfTrailingZeros(previousBits);
+					if (distances.hasEdge(city + 1, end + 1)) {
+						double cost = previous[previousSlot + position] + distances.getWeight(city + 1, end + 1);
+						if (cost < best) {
+							best = cost;
+							parent = city + 1;
+						}
+					}
+					position++;
+				}
+
+				current[slot] = best;
+				parents[slot] = (byte) parent;
+				slot++;
+			}
+
+			if (rank + 1 < to)
+				mask = SubsetIndex.next(mask);
+		}
+	}
+}
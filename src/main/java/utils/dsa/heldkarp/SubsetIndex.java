@@ -0,0 +1,89 @@
+package utils.dsa.heldkarp;
+
+/**
+ * Combinatorial number system for int bitsets. Subsets of the same size are
+ * ranked densely in colexicographic order, so each popcount layer of the
+ * Held-Karp table can be stored in its own compact array
+ */
+final class SubsetIndex {
+	private final int[][] binomial;
+
+	/**
+	 * Build the binomial table for subsets of the given number of elements
+	 * 
+	 * @param elements
+	 */
+	SubsetIndex(int elements) {
+		binomial = new int[elements + 1][elements + 1];
+		for (int n = 0; n <= elements; n++) {
+			binomial[n][0] = 1;
+			for (int k = 1; k <= n; k++) {
+				binomial[n][k] = binomial[n - 1][k - 1] + binomial[n - 1][k];
+			}
+		}
+	}
+
+	/**
+	 * Number of subsets with the given size
+	 * 
+	 * @param size
+	 * @return
+	 */
+	int count(int size) {
+		return binomial[binomial.length - 1][size];
+	}
+
+	/**
+	 * Rank of a subset among the subsets of the same size
+	 * 
+	 * @param mask
+	 * @return
+	 */
+	int rank(int mask) {
+		int rank = 0;
+		int i = 1;
+		for (int bits = mask; bits != 0; bits &= bits - 1) {
+			rank += choose(Integer.numberOfTrailingZeros(bits), i++);
+		}
+		return rank;
+	}
+
+	/**
+	 * Subset of the given size stored in a rank
+	 * 
+	 * @param rank
+	 * @param size
+	 * @return
+	 */
+	int unrank(int rank, int size) {
+		int mask = 0;
+		for (int i = size; i > 0; i--) {
+			// largest position p with C(p, i) <= rank
+			int p = i - 1;
+			while (choose(p + 1, i) <= rank) {
+				p++;
+			}
+			rank -= choose(p, i);
+			mask |= 1 << p;
+		}
+		return mask;
+	}
+
+	/**
+	 * Next subset of the same size in rank order (Gosper's hack)
+	 * 
+	 * @param mask
+	 * @return
+	 */
+	static int next(int mask) {
+		int lowest = mask & -mask;
+		int ripple = mask + lowest;
+		return (((ripple ^ mask) >>> 2) / lowest) | ripple;
+	}
+
+	private int choose(int n, int k) {
+		if (k > n)
+			return 0;
+		return binomial[n][k];
+	}
+}
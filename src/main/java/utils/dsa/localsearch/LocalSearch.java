@@ -0,0 +1,423 @@
+package utils.dsa.localsearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.graph.Graph;
+
+/**
+ * 2-opt and Or-opt local search for traveling sales man routes. Moves are
+ * evaluated with O(1) deltas on the distance matrix, candidates come from the
+ * nearest neighbours of each city and don't look bits skip cities whose
+ * neighbourhood did not change since their last failed scan. Any solver route
+ * can be passed through it
+ *
+ * @param <N>
+ */
+public class LocalSearch<N> {
+	public static final int DEFAULT_NEIGHBOURS = 8;
+	// Or-opt moves segments of up to this many cities
+	private static final int MAX_SEGMENT = 3;
+	private static final double EPSILON = 1e-9;
+
+	private Graph<N> graph;
+	private int neighbourCount;
+	private List<N> bestRoute;
+	private Double minDistance;
+
+	// search state
+	private int size;
+	private double[] weights;
+	private boolean symmetric;
+	private int[][] neighbours;
+	private int[] tour;
+	private int[] position;
+	private boolean[] dontLook;
+	private int[] queue;
+	private int queueHead;
+	private int queueSize;
+
+	/**
+	 * Initialize the initial values
+	 *
+	 * @param graph
+	 */
+	public LocalSearch(Graph<N> graph) {
+		this(graph, DEFAULT_NEIGHBOURS);
+	}
+
+	/**
+	 * Initialize the initial values with the neighbour list size
+	 *
+	 * @param graph
+	 * @param neighbourCount
+	 */
+	public LocalSearch(Graph<N> graph, int neighbourCount) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph should not be null");
+		if (neighbourCount < 1)
+			throw new IllegalArgumentException("neighbour count should be at least 1");
+		this.graph = graph;
+		this.neighbourCount = neighbourCount;
+		bestRoute = new ArrayList<N>();
+		minDistance = Double.MAX_VALUE;
+	}
+
+	/**
+	 * Improve a route that starts and ends at the home node. The improved route
+	 * also starts and ends at the home node
+	 *
+	 * @param route
+	 */
+	public void improve(List<N> route) {
+		if (route == null)
+			throw new IllegalArgumentException("route should not be null");
+		if (route.size() < 2 || !route.get(0).equals(route.get(route.size() - 1)))
+			throw new IllegalArgumentException("route should start and end with the home node");
+
+		List<N> vertices = new ArrayList<N>(route.subList(0, route.size() - 1));
+		DistanceMatrix<N> distances = graph.toDistanceMatrix(vertices);
+		int[] order = new int[vertices.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+
+		double distance = this.optimize(order, distances);
+
+		this.bestRoute = new ArrayList<N>();
+		for (int index : order) {
+			bestRoute.add(distances.getVertex(index));
+		}
+		bestRoute.add(route.get(0));
+		this.minDistance = distance == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : distance;
+	}
+
+	/**
+	 * Improve a closed tour of matrix indices in place. The tour must visit every
+	 * index of the matrix once and its first city stays in the first position
+	 *
+	 * @param order
+	 * @param distances
+	 * @return distance of the improved tour
+	 */
+	public double optimize(int[] order, DistanceMatrix<?> distances) {
+		if (order == null)
+			throw new IllegalArgumentException("tour should not be null");
+		if (distances == null)
+			throw new IllegalArgumentException("distances should not be null");
+		if (order.length != distances.size())
+			throw new IllegalArgumentException("tour should visit every vertex of the distances");
+
+		int home = order.length == 0 ? 0 : order[0];
+		if (order.length > 3) {
+			this.initialize(order, distances);
+			this.search();
+
+			// rotate the tour back to start from home
+			int start = position[home];
+			for (int i = 0; i < size; i++) {
+				order[i] = tour[(start + i) % size];
+			}
+		}
+
+		double total = 0;
+		for (int i = 0; i < order.length; i++) {
+			total += distances.getWeight(order[i], order[(i + 1) % order.length]);
+		}
+		return total;
+	}
+
+	/**
+	 * Copy the tour and build the neighbour lists. Missing edges are replaced with
+	 * a penalty larger than any route, so every delta stays finite
+	 *
+	 * @param order
+	 * @param distances
+	 */
+	private void initialize(int[] order, DistanceMatrix<?> distances) {
+		size = order.length;
+		weights = new double[size * size];
+		double penalty = 1;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				if (distances.hasEdge(i, j))
+					penalty += distances.getWeight(i, j);
+			}
+		}
+
+		symmetric = true;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				weights[i * size + j] = distances.hasEdge(i, j) ? distances.getWeight(i, j) : penalty;
+			}
+		}
+		for (int i = 0; i < size && symmetric; i++) {
+			for (int j = 0; j < i; j++) {
+				if (weights[i * size + j] != weights[j * size + i]) {
+					symmetric = false;
+					break;
+				}
+			}
+		}
+
+		// nearest neighbours of each city sorted by weight
+		int count = Math.min(neighbourCount, size - 1);
+		neighbours = new int[size][count];
+		for (int i = 0; i < size; i++) {
+			int filled = 0;
+			for (int j = 0; j < size; j++) {
+				if (i == j)
+					continue;
+				double weight = this.weight(i, j);
+				int slot;
+				if (filled < count) {
+					slot = filled++;
+				} else if (weight < this.weight(i, neighbours[i][count - 1])) {
+					slot = count - 1;
+				} else {
+					continue;
+				}
+				while (slot > 0 && this.weight(i, neighbours[i][slot - 1]) > weight) {
+					neighbours[i][slot] = neighbours[i][slot - 1];
+					slot--;
+				}
+				neighbours[i][slot] = j;
+			}
+		}
+
+		tour = order.clone();
+		position = new int[size];
+		for (int i = 0; i < size; i++) {
+			position[tour[i]] = i;
+		}
+
+		// every city starts active
+		dontLook = new boolean[size];
+		queue = new int[size];
+		queueHead = 0;
+		queueSize = 0;
+		for (int i = 0; i < size; i++) {
+			queue[queueSize++] = tour[i];
+		}
+	}
+
+	/**
+	 * Process active cities until no improving move is left
+	 */
+	private void search() {
+		while (queueSize > 0) {
+			int city = queue[queueHead];
+			queueHead = (queueHead + 1) % size;
+			queueSize--;
+			dontLook[city] = true;
+
+			boolean improved = (symmetric && this.twoOpt(city)) || this.orOpt(city);
+			if (improved)
+				this.activate(city);
+		}
+	}
+
+	/**
+	 * Try 2-opt moves that add an edge from the city to one of its neighbours
+	 *
+	 * @param a
+	 * @return true if a move was applied
+	 */
+	private boolean twoOpt(int a) {
+		// successor direction: a b ... c d becomes a c ... b d
+		int b = this.next(a);
+		for (int c : neighbours[a]) {
+			double gain = this.weight(a, b) - this.weight(a, c);
+			if (gain <= EPSILON)
+				break;
+			int d = this.next(c);
+			if (c == b || d == a)
+				continue;
+			if (gain + this.weight(c, d) - this.weight(b, d) > EPSILON) {
+				this.reverse(position[b], position[c]);
+				this.activate(a, b, c, d);
+				return true;
+			}
+		}
+
+		// predecessor direction: b a ... d c becomes b d ... a c
+		b = this.previous(a);
+		for (int c : neighbours[a]) {
+			double gain = this.weight(b, a) - this.weight(a, c);
+			if (gain <= EPSILON)
+				break;
+			int d = this.previous(c);
+			if (c == b || d == a)
+				continue;
+			if (gain + this.weight(d, c) - this.weight(b, d) > EPSILON) {
+				this.reverse(position[a], position[d]);
+				this.activate(a, b, c, d);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Try Or-opt moves of the segments that start at the city
+	 *
+	 * @param first
+	 * @return true if a move was applied
+	 */
+	private boolean orOpt(int first) {
+		int last = first;
+		for (int length = 1; length <= MAX_SEGMENT && length < size - 2; length++) {
+			if (length > 1)
+				last = this.next(last);
+			int before = this.previous(first);
+			int after = this.next(last);
+			double removeGain = this.weight(before, first) + this.weight(last, after) - this.weight(before, after);
+			if (removeGain <= EPSILON)
+				continue;
+
+			for (int c : neighbours[first]) {
+				// insert between c and its successor or predecessor
+				for (int side = 0; side < 2; side++) {
+					int from = side == 0 ? c : this.previous(c);
+					int to = side == 0 ? this.next(c) : c;
+					if (this.inSegment(from, first, length) || this.inSegment(to, first, length) || from == before)
+						continue;
+
+					double forward = this.weight(from, first) + this.weight(last, to) - this.weight(from, to);
+					if (removeGain - forward > EPSILON) {
+						this.moveSegment(first, length, from, false);
+						this.activate(before, after, from, to);
+						this.activate(first, last);
+						return true;
+					}
+
+					if (symmetric) {
+						double reversed = this.weight(from, last) + this.weight(first, to) - this.weight(from, to);
+						if (removeGain - reversed > EPSILON) {
+							this.moveSegment(first, length, from, true);
+							this.activate(before, after, from, to);
+							this.activate(first, last);
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check the city is in the segment of the given length that starts at first
+	 */
+	private boolean inSegment(int city, int first, int length) {
+		return (position[city] - position[first] + size) % size < length;
+	}
+
+	/**
+	 * Move the segment after the given city. The segment must not contain the city
+	 *
+	 * @param first
+	 * @param length
+	 * @param after
+	 * @param reversed
+	 */
+	private void moveSegment(int first, int length, int after, boolean reversed) {
+		int[] segment = new int[length];
+		for (int i = 0; i < length; i++) {
+			segment[i] = tour[(position[first] + i) % size];
+		}
+
+		// rebuild the tour without the segment, inserting it after the city
+		int[] rebuilt = new int[size];
+		int filled = 0;
+		int start = (position[first] + length) % size;
+		for (int i = 0; i < size - length; i++) {
+			int city = tour[(start + i) % size];
+			rebuilt[filled++] = city;
+			if (city == after) {
+				for (int j = 0; j < length; j++) {
+					rebuilt[filled++] = segment[reversed ? length - 1 - j : j];
+				}
+			}
+		}
+
+		tour = rebuilt;
+		for (int i = 0; i < size; i++) {
+			position[tour[i]] = i;
+		}
+	}
+
+	/**
+	 * Reverse the tour from position i forward to position j. The shorter side of
+	 * the cycle is reversed, which gives the same cycle for symmetric weights
+	 *
+	 * @param i
+	 * @param j
+	 */
+	private void reverse(int i, int j) {
+		int length = (j - i + size) % size + 1;
+		if (length * 2 > size) {
+			int temp = i;
+			i = (j + 1) % size;
+			j = (temp - 1 + size) % size;
+			length = size - length;
+		}
+
+		for (int k = 0; k < length / 2; k++) {
+			int left = (i + k) % size;
+			int right = (j - k + size) % size;
+			int city = tour[left];
+			tour[left] = tour[right];
+			tour[right] = city;
+			position[tour[left]] = left;
+			position[tour[right]] = right;
+		}
+	}
+
+	/**
+	 * Clear the don't look bits of the cities and queue them again
+	 */
+	private void activate(int... cities) {
+		for (int city : cities) {
+			if (dontLook[city]) {
+				dontLook[city] = false;
+				queue[(queueHead + queueSize) % size] = city;
+				queueSize++;
+			}
+		}
+	}
+
+	private int next(int city) {
+		return tour[(position[city] + 1) % size];
+	}
+
+	private int previous(int city) {
+		return tour[(position[city] - 1 + size) % size];
+	}
+
+	private double weight(int source, int destination) {
+		return weights[source * size + destination];
+	}
+
+	/**
+	 * getters and setters
+	 *
+	 * @return
+	 */
+	public List<N> getBestRoute() {
+		return bestRoute;
+	}
+
+	public void setBestRoute(List<N> bestRoute) {
+		this.bestRoute = bestRoute;
+	}
+
+	public Double getMinDistance() {
+		return minDistance;
+	}
+
+	public void setMinDistance(Double minDistance) {
+		this.minDistance = minDistance;
+	}
+}
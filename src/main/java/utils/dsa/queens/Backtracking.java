@@ -0,0 +1,85 @@
+package utils.dsa.queens;
+
+import utils.dsa.ArrayList;
+
+/**
+ * Backtracking search for every solution of the N queens puzzle. A solution
+ * stores the row of the queen in each column
+ */
+public class Backtracking {
+	private int boardSize;
+	private ArrayList<int[]> solutions;
+
+	/**
+	 * Initialize the initial values
+	 * 
+	 * @param boardSize
+	 */
+	public Backtracking(int boardSize) {
+		if (boardSize < 1)
+			throw new IllegalArgumentException("board size should be at least 1");
+		this.boardSize = boardSize;
+		this.solutions = new ArrayList<>();
+	}
+
+	/**
+	 * Find all solutions
+	 * 
+	 * @return
+	 */
+	public ArrayList<int[]> calculate() {
+		solutions = new ArrayList<>();
+		this.solve(0, new int[boardSize]);
+		return solutions;
+	}
+
+	/**
+	 * recursive backtracking helper
+	 * 
+	 * @param column
+	 * @param board
+	 */
+	private void solve(int column, int[] board) {
+		if (column == boardSize) {
+			solutions.add(board.clone());
+			return;
+		}
+		for (int row = 0; row < boardSize; row++) {
+			if (isSafe(board, column, row)) {
+				board[column] = row;
+				solve(column + 1, board);
+			}
+		}
+	}
+
+	/**
+	 * check place if can not attack queens each other
+	 * 
+	 * @param board
+	 * @param column
+	 * @param row
+	 * @return
+	 */
+	private boolean isSafe(int[] board, int column, int row) {
+		for (int b = 0; b < column; b++) {
+			int a = board[b];
+			if (a == row || Math.abs(a - row) == Math.abs(b - column)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * getters
+	 * 
+	 * @return
+	 */
+	public int getBoardSize() {
+		return boardSize;
+	}
+
+	public ArrayList<int[]> getSolutions() {
+		return solutions;
+	}
+}
@@ -0,0 +1,109 @@
+package utils.dsa.queens;
+
+import java.util.concurrent.ForkJoinPool;
+
+import utils.dsa.ArrayList;
+
+/**
+ * Bitmask search for the N queens puzzle. Queens are placed column by column,
+ * the rows and both diagonals under attack are kept as int bitmasks, so the
+ * free rows of a column are one mask and they are taken lowest set bit first.
+ * The rows of the first two columns split the search into independent tasks
+ * of a ForkJoinPool. Like Backtracking a solution stores the row of the queen
+ * in each column, and solutions are returned in the same order
+ *
+ * Mirroring the rows maps a solution with its first queen in the last half of
+ * the rows to one in the first half, so counting and the fundamental solutions only search
+ * the first column rows up to the middle
+ */
+public class BitmaskSolver {
+	// rows of a column are the bits of an int
+	public static final int MAX_SIZE = 31;
+
+	private int boardSize;
+	private ForkJoinPool pool;
+
+	/**
+	 * initialize the initial value
+	 * 
+	 * @param boardSize
+	 */
+	public BitmaskSolver(int boardSize) {
+		this(boardSize, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * initialize the initial value with the pool used to search the tasks
+	 * 
+	 * @param boardSize
+	 * @param pool
+	 */
+	public BitmaskSolver(int boardSize, ForkJoinPool pool) {
+		if (boardSize < 1 || boardSize > MAX_SIZE)
+			throw new IllegalArgumentException("board size should be between 1 and " + MAX_SIZE);
+		if (pool == null)
+			throw new IllegalArgumentException("pool should not be null");
+
+		this.boardSize = boardSize;
+		this.pool = pool;
+	}
+
+	/**
+	 * Count all solutions without storing them. Solutions with the first queen
+	 * in the first half of the rows count twice for their mirror
+	 * 
+	 * @return
+	 */
+	public long count() {
+		int half = (1 << (boardSize / 2)) - 1;
+		long count = 2 * this.search(half, false).getCount();
+		if (boardSize % 2 == 1)
+			count += this.search(1 << (boardSize / 2), false).getCount();
+		return count;
+	}
+
+	/**
+	 * Find all solutions
+	 * 
+	 * @return
+	 */
+	public ArrayList<int[]> calculate() {
+		return this.search((int) ((1L << boardSize) - 1), true).getSolutions();
+	}
+
+	/**
+	 * Find the solutions that are their own canonical form under the 8 board
+	 * symmetries, one per class of symmetric solutions. Symmetry.expand gives
+	 * back every solution
+	 * 
+	 * @return fundamental solutions in lexicographic order
+	 */
+	public ArrayList<int[]> calculateFundamental() {
+		// a canonical form has the smallest first row of its class, so it is in the first half
+		ArrayList<int[]> found = this.search((1 << ((boardSize + 1) / 2)) - 1, true).getSolutions();
+		ArrayList<int[]> fundamentals = new ArrayList<>();
+		for (int i = 0; i < found.size(); i++) {
+			if (Symmetry.isFundamental(found.get(i)))
+				fundamentals.add(found.get(i));
+		}
+		return fundamentals;
+	}
+
+	/**
+	 * Search the solutions with the first queen on one of the given rows
+	 */
+	private QueensTask search(int firstRows, boolean enumerate) {
+		QueensTask task = new QueensTask(boardSize, new int[boardSize], 0, 0, 0, 0, firstRows, enumerate);
+		pool.invoke(task);
+		return task;
+	}
+
+	/**
+	 * getters
+	 * 
+	 * @return
+	 */
+	public int getBoardSize() {
+		return boardSize;
+	}
+}
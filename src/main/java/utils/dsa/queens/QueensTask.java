@@ -0,0 +1,136 @@
+package utils.dsa.queens;
+
+import java.util.concurrent.RecursiveAction;
+
+import utils.dsa.ArrayList;
+
+/**
+ * Fork join task that searches the N queens solutions below the queens already
+ * placed in the first columns. Tasks of the first SPLIT_COLUMNS columns fork
+ * one subtask per free row, deeper columns are searched in the current worker.
+ * Every task owns its board copy and results, so no locking is needed
+ */
+class QueensTask extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	// columns whose rows are split into subtasks
+	private static final int SPLIT_COLUMNS = 2;
+
+	private final int boardSize;
+	private final int full;
+	private final int[] board;
+	private final int column;
+	private final int rows;
+	private final int diagonals;
+	private final int antiDiagonals;
+	private final int allowed;
+	private final boolean enumerate;
+	private long count;
+	private ArrayList<int[]> solutions;
+
+	/**
+	 * Create a task for the queens of the columns from the given column. Bit r of
+	 * the diagonal masks is set if row r of the column is attacked along a
+	 * diagonal
+	 * 
+	 * @param boardSize
+	 * @param board         rows of the queens placed before the column
+	 * @param column
+	 * @param rows          rows already taken
+	 * @param diagonals     rows attacked from below left
+	 * @param antiDiagonals rows attacked from above left
+	 * @param allowed       rows the queen of the column may take, the first
+	 *                      column of a symmetry reduced search takes only half
+	 * @param enumerate     true to store the solutions, false to only count
+	 */
+	QueensTask(int boardSize, int[] board, int column, int rows, int diagonals, int antiDiagonals, int allowed,
+			boolean enumerate) {
+		this.boardSize = boardSize;
+		this.full = (int) ((1L << boardSize) - 1);
+		this.board = board;
+		this.column = column;
+		this.rows = rows;
+		this.diagonals = diagonals;
+		this.antiDiagonals = antiDiagonals;
+		this.allowed = allowed;
+		this.enumerate = enumerate;
+	}
+
+	@Override
+	protected void compute() {
+		solutions = enumerate ? new ArrayList<>() : null;
+		if (column >= SPLIT_COLUMNS || column == boardSize) {
+			if (enumerate)
+				this.solve(column, rows, diagonals, antiDiagonals);
+			else
+				count = this.count(rows, diagonals, antiDiagonals);
+			return;
+		}
+
+		int free = allowed & ~(rows | diagonals | antiDiagonals);
+		QueensTask[] tasks = new QueensTask[Integer.bitCount(free)];
+		for (int i = 0; free != 0; free &= free - 1) {
+			int bit = free & -free;
+			int[] next = board.clone();
+			next[column] = Integer.numberOfTrailingZeros(bit);
+			tasks[i++] = new QueensTask(boardSize, next, column + 1, rows | bit, ((diagonals | bit) << 1) & full,
+					(antiDiagonals | bit) >>> 1, full, enumerate);
+		}
+		invokeAll(tasks);
+
+		// subtasks are joined in row order, so the solutions keep the sequential order
+		for (QueensTask task : tasks) {
+			count += task.count;
+			if (enumerate) {
+				for (int j = 0; j < task.solutions.size(); j++) {
+					solutions.add(task.solutions.get(j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Place the queens of the remaining columns and store every solution, free
+	 * rows are taken lowest bit first
+	 */
+	private void solve(int column, int rows, int diagonals, int antiDiagonals) {
+		if (column == boardSize) {
+			count++;
+			if (enumerate)
+				solutions.add(board.clone());
+			return;
+		}
+		for (int free = full & ~(rows | diagonals | antiDiagonals); free != 0; free &= free - 1) {
+			int bit = free & -free;
+			board[column] = Integer.numberOfTrailingZeros(bit);
+			this.solve(column + 1, rows | bit, ((diagonals | bit) << 1) & full, (antiDiagonals | bit) >>> 1);
+		}
+	}
+
+	/**
+	 * Count the placements of the remaining columns without writing the board. A
+	 * column is complete when every row is taken
+	 */
+	private long count(int rows, int diagonals, int antiDiagonals) {
+		if (rows == full)
+			return 1;
+		long total = 0;
+		for (int free = full & ~(rows | diagonals | antiDiagonals); free != 0; free &= free - 1) {
+			int bit = free & -free;
+			total += this.count(rows | bit, ((diagonals | bit) << 1) & full, (antiDiagonals | bit) >>> 1);
+		}
+		return total;
+	}
+
+	/**
+	 * getters
+	 * 
+	 * @return
+	 */
+	long getCount() {
+		return count;
+	}
+
+	ArrayList<int[]> getSolutions() {
+		return solutions;
+	}
+}
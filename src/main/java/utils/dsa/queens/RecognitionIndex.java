@@ -0,0 +1,196 @@
+package utils.dsa.queens;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import utils.dsa.ArrayList;
+
+/**
+ * Index of the N queens solutions with a recognized bit per solution. A
+ * solution is packed into a long key, a few bits per column, and found by its
+ * key in an open addressing table, so looking up a submission takes constant
+ * time. The recognized bits are an AtomicLongArray set and cleared with compare
+ * and set, and the number of recognized solutions is kept next to them, so
+ * reads and claims never lock
+ */
+public class RecognitionIndex {
+	public static final int NOT_FOUND = -1;
+	// the rows of all columns fit in the 63 bits of a positive long
+	public static final int MAX_SIZE = 15;
+
+	private final int boardSize;
+	private final int rowBits;
+	private final long[] keys;
+	private final int[] ids;
+	private final int mask;
+	private final int size;
+	private final AtomicLongArray recognized;
+	private final AtomicInteger recognizedCount = new AtomicInteger();
+
+	/**
+	 * Index the solutions, the ID of a solution is its position in the list
+	 *
+	 * @param boardSize
+	 * @param solutions
+	 */
+	public RecognitionIndex(int boardSize, ArrayList<int[]> solutions) {
+		if (boardSize < 1 || boardSize > MAX_SIZE)
+			throw new IllegalArgumentException("board size should be between 1 and " + MAX_SIZE);
+		if (solutions == null)
+			throw new IllegalArgumentException("solutions should not be null");
+
+		this.boardSize = boardSize;
+		this.rowBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(boardSize - 1));
+		this.size = solutions.size();
+		int slots = Integer.highestOneBit(Math.max(size, 1)) << 2; // at most half full
+		this.keys = new long[slots];
+		this.ids = new int[slots];
+		this.mask = slots - 1;
+		Arrays.fill(ids, NOT_FOUND);
+		for (int id = 0; id < size; id++) {
+			long key = this.key(solutions.get(id));
+			if (key < 0)
+				throw new IllegalArgumentException("solution should have a row between 0 and " + (boardSize - 1)
+						+ " in each of the " + boardSize + " columns");
+			int slot = this.slot(key);
+			while (ids[slot] != NOT_FOUND && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			ids[slot] = id;
+		}
+		this.recognized = new AtomicLongArray((size + 63) >>> 6);
+	}
+
+	/**
+	 * ID of a solution
+	 *
+	 * @param positions row of the queen in each column
+	 * @return ID or NOT_FOUND if the positions are not a solution
+	 */
+	public int indexOf(int[] positions) {
+		long key = this.key(positions);
+		if (key < 0)
+			return NOT_FOUND;
+		for (int slot = this.slot(key);; slot = (slot + 1) & mask) {
+			if (ids[slot] == NOT_FOUND || keys[slot] == key)
+				return ids[slot];
+		}
+	}
+
+	/**
+	 * Check a solution is recognized
+	 *
+	 * @param id
+	 * @return
+	 */
+	public boolean isRecognized(int id) {
+		this.checkId(id);
+		return (recognized.get(id >>> 6) & (1L << id)) != 0;
+	}
+
+	/**
+	 * Set the recognized bit of a solution
+	 *
+	 * @param id
+	 * @return true if this call recognized the solution, false if it was already
+	 *         recognized
+	 */
+	public boolean recognize(int id) {
+		this.checkId(id);
+		long bit = 1L << id;
+		int word = id >>> 6;
+		for (long old = recognized.get(word); (old & bit) == 0; old = recognized.get(word)) {
+			if (recognized.compareAndSet(word, old, old | bit)) {
+				recognizedCount.incrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Clear the recognized bit of a solution
+	 *
+	 * @param id
+	 * @return true if this call cleared the bit, false if the solution was not
+	 *         recognized
+	 */
+	public boolean unrecognize(int id) {
+		this.checkId(id);
+		long bit = 1L << id;
+		int word = id >>> 6;
+		for (long old = recognized.get(word); (old & bit) != 0; old = recognized.get(word)) {
+			if (recognized.compareAndSet(word, old, old & ~bit)) {
+				recognizedCount.decrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Clear the recognized bits of every solution
+	 *
+	 * @return IDs of the solutions that were recognized
+	 */
+	public int[] clear() {
+		int[] cleared = new int[0];
+		for (int word = 0; word < recognized.length(); word++) {
+			long old = recognized.getAndSet(word, 0);
+			recognizedCount.addAndGet(-Long.bitCount(old));
+			if (old == 0)
+				continue;
+			int count = cleared.length;
+			cleared = Arrays.copyOf(cleared, count + Long.bitCount(old));
+			for (long bits = old; bits != 0; bits &= bits - 1) {
+				cleared[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+		return cleared;
+	}
+
+	/**
+	 * getters
+	 *
+	 * @return
+	 */
+	public int getBoardSize() {
+		return boardSize;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getRecognizedCount() {
+		return recognizedCount.get();
+	}
+
+	/**
+	 * Rows of the columns packed from the first column up, or -1 if the positions
+	 * do not fit the board
+	 */
+	private long key(int[] positions) {
+		if (positions == null || positions.length != boardSize)
+			return -1;
+		long key = 0;
+		for (int row : positions) {
+			if (row < 0 || row >= boardSize)
+				return -1;
+			key = (key << rowBits) | row;
+		}
+		return key;
+	}
+
+	private int slot(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L; // spread the low column bits over the table
+		return (int) (hash >>> 40) & mask;
+	}
+
+	private void checkId(int id) {
+		if (id < 0 || id >= size)
+			throw new IllegalArgumentException("id should be between 0 and " + (size - 1));
+	}
+}
@@ -0,0 +1,109 @@
+package utils.dsa.queens;
+
+import java.util.Arrays;
+
+import utils.dsa.ArrayList;
+
+/**
+ * The 8 symmetries of the square board, 4 rotations each with and without a
+ * reflection, applied to N queens solutions. A solution stores the row of the
+ * queen in each column. The canonical form of a solution is the smallest of
+ * its transforms in lexicographic order, a fundamental solution is its own
+ * canonical form
+ */
+public class Symmetry {
+	public static final int COUNT = 8;
+
+	private Symmetry() {
+	}
+
+	/**
+	 * Apply a symmetry to a solution
+	 * 
+	 * @param solution
+	 * @param symmetry between 0 and COUNT - 1, 0 is the identity
+	 * @return the transformed solution
+	 */
+	public static int[] transform(int[] solution, int symmetry) {
+		if (solution == null)
+			throw new IllegalArgumentException("solution should not be null");
+		if (symmetry < 0 || symmetry >= COUNT)
+			throw new IllegalArgumentException("symmetry should be between 0 and " + (COUNT - 1));
+
+		int last = solution.length - 1;
+		int[] result = new int[solution.length];
+		for (int column = 0; column < solution.length; column++) {
+			int row = solution[column];
+			if (row < 0 || row > last)
+				throw new IllegalArgumentException("row should be between 0 and " + last);
+			// bit 0 mirrors the rows, bit 1 mirrors the columns, bit 2 swaps rows and columns
+			int x = (symmetry & 2) != 0 ? last - column : column;
+			int y = (symmetry & 1) != 0 ? last - row : row;
+			if ((symmetry & 4) != 0)
+				result[y] = x;
+			else
+				result[x] = y;
+		}
+		return result;
+	}
+
+	/**
+	 * Smallest transform of a solution in lexicographic order
+	 * 
+	 * @param solution
+	 * @return
+	 */
+	public static int[] canonical(int[] solution) {
+		int[] best = transform(solution, 0);
+		for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+			int[] other = transform(solution, symmetry);
+			if (Arrays.compare(other, best) < 0)
+				best = other;
+		}
+		return best;
+	}
+
+	/**
+	 * Check a solution is its own canonical form
+	 * 
+	 * @param solution
+	 * @return
+	 */
+	public static boolean isFundamental(int[] solution) {
+		return Arrays.equals(solution, canonical(solution));
+	}
+
+	/**
+	 * Every distinct transform of the fundamental solutions, in lexicographic
+	 * order. Symmetric solutions have less than COUNT distinct transforms
+	 * 
+	 * @param fundamentals
+	 * @return
+	 */
+	public static ArrayList<int[]> expand(ArrayList<int[]> fundamentals) {
+		if (fundamentals == null)
+			throw new IllegalArgumentException("fundamentals should not be null");
+
+		int[][] all = new int[fundamentals.size() * COUNT][];
+		int count = 0;
+		for (int i = 0; i < fundamentals.size(); i++) {
+			int first = count;
+			for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+				int[] other = transform(fundamentals.get(i), symmetry);
+				boolean seen = false;
+				for (int j = first; j < count && !seen; j++) {
+					seen = Arrays.equals(all[j], other);
+				}
+				if (!seen)
+					all[count++] = other;
+			}
+		}
+		Arrays.sort(all, 0, count, Arrays::compare);
+
+		ArrayList<int[]> result = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			result.add(all[i]);
+		}
+		return result;
+	}
+}
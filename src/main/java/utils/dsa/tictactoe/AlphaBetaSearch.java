@@ -0,0 +1,449 @@
+package utils.dsa.tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * Alpha-beta search below the moves of the first player. Scores are seen from
+ * the first player: a win on the move at depth d scores Evaluation.WIN - d and
+ * a loss d - Evaluation.WIN, depth 0 being the reply to the searched move, and
+ * positions at the depth limit get their static evaluation. Moves are ordered
+ * by the principal variation of the previous iteration, the transposition
+ * table move, two killer moves per depth and a history score per cell
+ *
+ * A search keeps its own hashes and ordering tables, so every thread of a
+ * parallel search uses its own instance. The transposition table can be shared
+ */
+public class AlphaBetaSearch {
+	// positions closer to the depth limit are cheaper to search than to look up
+	private static final int TABLE_MIN_DEPTH = 3;
+	// the clock is read every 1024 positions
+	private static final int CLOCK_MASK = 1023;
+
+	private final TranspositionTable table;
+	private final int maxDepth;
+	private final long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+	private final Evaluation evaluation = new Evaluation();
+	private int firstMask;
+	private int secondMask;
+
+	// current iteration
+	private int searchDepth;
+	private long deadline;
+	private boolean timeUp;
+	private int clock;
+
+	// move ordering
+	private final int[][] killers;
+	private final int[][] history = new int[2][BitBoard.CELLS];
+	private final int[][] pvTable;
+	private final int[] pvLength;
+	private final int[] previousPv;
+	private int previousPvLength;
+	private boolean followPv;
+	private final int[][] moveBuffer;
+	private final int[][] orderBuffer;
+
+	// statistics of the search
+	private long nodes;
+	private long cutoffs;
+	private long tableProbes;
+	private long tableHits;
+
+	/**
+	 * Create a search with the given depth limit
+	 *
+	 * @param table    transposition table, can be shared between searches
+	 * @param maxDepth
+	 */
+	public AlphaBetaSearch(TranspositionTable table, int maxDepth) {
+		if (table == null)
+			throw new IllegalArgumentException("table should not be null");
+		if (maxDepth < 1 || maxDepth >= BitBoard.CELLS)
+			throw new IllegalArgumentException("max depth should be between 1 and " + (BitBoard.CELLS - 1));
+
+		this.table = table;
+		this.maxDepth = maxDepth;
+		this.killers = new int[maxDepth + 1][2];
+		this.pvTable = new int[maxDepth + 1][maxDepth + 1];
+		this.pvLength = new int[maxDepth + 1];
+		this.previousPv = new int[maxDepth + 1];
+		this.moveBuffer = new int[maxDepth + 1][BitBoard.CELLS];
+		this.orderBuffer = new int[maxDepth + 1][BitBoard.CELLS];
+	}
+
+	/**
+	 * Start a search of a position. Killer moves and the principal variation are
+	 * cleared and history scores of older searches count half
+	 *
+	 * @param firstMask  cells of the first player
+	 * @param secondMask cells of the second player
+	 */
+	public void start(int firstMask, int secondMask) {
+		this.firstMask = firstMask;
+		this.secondMask = secondMask;
+		ZobristHash.hashes(firstMask, secondMask, hashes);
+		evaluation.reset(firstMask, secondMask);
+		for (int[] killer : killers) {
+			Arrays.fill(killer, -1);
+		}
+		for (int[] scores : history) {
+			for (int cell = 0; cell < scores.length; cell++) {
+				scores[cell] >>= 1;
+			}
+		}
+		previousPvLength = 0;
+		nodes = 0;
+		cutoffs = 0;
+		tableProbes = 0;
+		tableHits = 0;
+	}
+
+	/**
+	 * Start an iteration of iterative deepening
+	 *
+	 * @param depth    depth limit of the iteration, at most max depth
+	 * @param deadline System.nanoTime() when the iteration stops
+	 */
+	public void startIteration(int depth, long deadline) {
+		if (depth < 1 || depth > maxDepth)
+			throw new IllegalArgumentException("depth should be between 1 and " + maxDepth);
+		this.searchDepth = depth;
+		this.deadline = deadline;
+		this.timeUp = false;
+	}
+
+	/**
+	 * Search a move of the first player on the started position. The score is
+	 * exact when it is above alpha, otherwise it is an upper bound. The score is
+	 * not valid when the time is up
+	 *
+	 * @param cell
+	 * @param alpha
+	 * @param onPv  true if the cell is the first move of the previous principal
+	 *              variation
+	 * @return
+	 */
+	public int searchMove(int cell, int alpha, boolean onPv) {
+		followPv = onPv && previousPvLength > 0;
+		ZobristHash.toggle(hashes, ZobristHash.FIRST_PLAYER, cell);
+		evaluation.play(ZobristHash.FIRST_PLAYER, cell);
+		int score = alphaBeta(firstMask | (1 << cell), secondMask, cell, 0, alpha, Integer.MAX_VALUE, false);
+		evaluation.undo(ZobristHash.FIRST_PLAYER, cell);
+		ZobristHash.toggle(hashes, ZobristHash.FIRST_PLAYER, cell);
+		return score;
+	}
+
+	/**
+	 * Copy the principal variation below the last searched move
+	 *
+	 * @param target array of at least max depth + 1 cells
+	 * @return length of the principal variation
+	 */
+	public int copyPv(int[] target) {
+		System.arraycopy(pvTable[0], 0, target, 0, pvLength[0]);
+		return pvLength[0];
+	}
+
+	/**
+	 * Set the principal variation searched first by the next iteration
+	 *
+	 * @param pv
+	 * @param length
+	 */
+	public void setPreviousPv(int[] pv, int length) {
+		System.arraycopy(pv, 0, previousPv, 0, length);
+		previousPvLength = length;
+	}
+
+	private boolean outOfTime() {
+		if ((++clock & CLOCK_MASK) == 0 && System.nanoTime() >= deadline)
+			timeUp = true;
+		return timeUp;
+	}
+
+	private int alphaBeta(int maxMask, int minMask, int lastCell, int depth, int alpha, int beta,
+			boolean isMaximizing) {
+		pvLength[depth] = depth;
+		nodes++;
+		// only the player who made the last move can have a new line
+		if (!isMaximizing && BitBoard.isWin(maxMask, lastCell))
+			return Evaluation.WIN - depth;
+		if (isMaximizing && BitBoard.isWin(minMask, lastCell))
+			return depth - Evaluation.WIN;
+		int occupied = maxMask | minMask;
+		if (BitBoard.isFull(occupied))
+			return 0;
+		if (depth >= searchDepth)
+			return evaluation.score();
+		if (outOfTime())
+			return 0;
+
+		int remainingDepth = searchDepth - depth;
+		if (remainingDepth < TABLE_MIN_DEPTH)
+			return alphaBetaNoTable(maxMask, minMask, depth, alpha, beta, isMaximizing);
+
+		// rotated and mirrored positions share the same entry
+		int symmetry = ZobristHash.canonicalSymmetry(hashes);
+		long key = ZobristHash.key(hashes, symmetry, !isMaximizing);
+		int hashMove = -1;
+		int entry = table.probe(key);
+		tableProbes++;
+		if (entry != TranspositionTable.NOT_FOUND) {
+			tableHits++;
+			if (TranspositionTable.move(entry) != TranspositionTable.NO_MOVE)
+				hashMove = BitBoard.INVERSE_SYMMETRIES[symmetry][TranspositionTable.move(entry)];
+			if (TranspositionTable.depth(entry) >= remainingDepth && !followPv) {
+				int score = fromTableScore(TranspositionTable.score(entry), depth);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.EXACT)
+					return score;
+				if (bound == TranspositionTable.LOWER_BOUND)
+					alpha = Math.max(alpha, score);
+				if (bound == TranspositionTable.UPPER_BOUND)
+					beta = Math.min(beta, score);
+				if (beta <= alpha)
+					return score;
+			}
+		}
+		int alphaStart = alpha;
+		int betaStart = beta;
+		int player = isMaximizing ? ZobristHash.FIRST_PLAYER : ZobristHash.SECOND_PLAYER;
+		int pvMove = this.pvMove(depth);
+		int count = this.orderMoves(BitBoard.empty(occupied), depth, pvMove, hashMove, player);
+		int[] moves = moveBuffer[depth];
+		int bestCell = TranspositionTable.NO_MOVE;
+		int bestScore = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+		for (int i = 0; i < count; i++) {
+			int cell = moves[i];
+			// only the first move of the node continues the previous principal variation
+			followPv = pvMove == cell;
+			ZobristHash.toggle(hashes, player, cell);
+			evaluation.play(player, cell);
+			int score = isMaximizing
+					? alphaBeta(maxMask | (1 << cell), minMask, cell, depth + 1, alpha, beta, false)
+					: alphaBeta(maxMask, minMask | (1 << cell), cell, depth + 1, alpha, beta, true);
+			evaluation.undo(player, cell);
+			ZobristHash.toggle(hashes, player, cell);
+			if (timeUp)
+				return 0;
+
+			if (isMaximizing ? score > bestScore : score < bestScore) {
+				bestScore = score;
+				bestCell = cell;
+				this.updatePv(depth, cell, true);
+			}
+			if (isMaximizing)
+				alpha = Math.max(alpha, bestScore);
+			else
+				beta = Math.min(beta, bestScore);
+			if (beta <= alpha) {
+				this.addCutoff(depth, cell, remainingDepth, player);
+				break;
+			}
+		}
+
+		// the score is stored with the bound it has for the searched window
+		int bound = bestScore <= alphaStart ? TranspositionTable.UPPER_BOUND
+				: bestScore >= betaStart ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+		int storedMove = bestCell == TranspositionTable.NO_MOVE ? bestCell : BitBoard.SYMMETRIES[symmetry][bestCell];
+		table.store(key, remainingDepth, bound, toTableScore(bestScore, depth), storedMove);
+		return bestScore;
+	}
+
+	/**
+	 * Search close to the depth limit without the table, the position is not
+	 * over. Children that end the game or reach the limit are scored without a
+	 * call, the evaluation of a child at the limit is computed without playing it. The principal variation move and the killer moves are tried first,
+	 * then the rest in row major order
+	 */
+	private int alphaBetaNoTable(int maxMask, int minMask, int depth, int alpha, int beta, boolean isMaximizing) {
+		pvLength[depth] = depth;
+		if (depth > 0 && outOfTime())
+			return 0;
+		int occupied = maxMask | minMask;
+		int player = isMaximizing ? ZobristHash.FIRST_PLAYER : ZobristHash.SECOND_PLAYER;
+		int pvMove = this.pvMove(depth);
+		int[] killer = killers[depth];
+		int bestScore = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		int remaining = BitBoard.empty(occupied);
+
+		for (int k = 0; remaining != 0; k++) {
+			int cell;
+			if (k < 3) {
+				cell = k == 0 ? pvMove : killer[k - 1];
+				if (cell < 0 || (remaining & (1 << cell)) == 0)
+					continue;
+			} else {
+				cell = Integer.numberOfTrailingZeros(remaining);
+			}
+			remaining &= ~(1 << cell);
+			followPv = pvMove == cell;
+			nodes++; // children are counted here, also when they are scored without a call
+
+			int score;
+			boolean searched = false;
+			if (isMaximizing) {
+				int newMask = maxMask | (1 << cell);
+				if (BitBoard.isWin(newMask, cell)) {
+					score = Evaluation.WIN - (depth + 1);
+				} else if (BitBoard.isFull(newMask | minMask)) {
+					score = 0;
+				} else if (depth + 1 >= searchDepth) {
+					score = evaluation.scoreWith(player, cell);
+				} else {
+					evaluation.play(player, cell);
+					score = alphaBetaNoTable(newMask, minMask, depth + 1, alpha, beta, false);
+					evaluation.undo(player, cell);
+					searched = true;
+				}
+			} else {
+				int newMask = minMask | (1 << cell);
+				if (BitBoard.isWin(newMask, cell)) {
+					score = (depth + 1) - Evaluation.WIN;
+				} else if (BitBoard.isFull(maxMask | newMask)) {
+					score = 0;
+				} else if (depth + 1 >= searchDepth) {
+					score = evaluation.scoreWith(player, cell);
+				} else {
+					evaluation.play(player, cell);
+					score = alphaBetaNoTable(maxMask, newMask, depth + 1, alpha, beta, true);
+					evaluation.undo(player, cell);
+					searched = true;
+				}
+			}
+			if (timeUp)
+				return 0;
+
+			if (isMaximizing ? score > bestScore : score < bestScore) {
+				bestScore = score;
+				this.updatePv(depth, cell, searched);
+			}
+			if (isMaximizing)
+				alpha = Math.max(alpha, bestScore);
+			else
+				beta = Math.min(beta, bestScore);
+			if (beta <= alpha) {
+				this.addCutoff(depth, cell, searchDepth - depth, player);
+				break;
+			}
+		}
+		return bestScore;
+	}
+
+	/**
+	 * Move of the previous principal variation at the depth, or -1 if the
+	 * position is not on it
+	 */
+	private int pvMove(int depth) {
+		if (followPv && depth < previousPvLength)
+			return previousPv[depth];
+		followPv = false;
+		return -1;
+	}
+
+	/**
+	 * Principal variation of a position is its best cell followed by the
+	 * principal variation of the child
+	 */
+	private void updatePv(int depth, int cell, boolean searched) {
+		pvTable[depth][depth] = cell;
+		int length = searched ? pvLength[depth + 1] : depth + 1;
+		if (searched)
+			System.arraycopy(pvTable[depth + 1], depth + 1, pvTable[depth], depth + 1, length - depth - 1);
+		pvLength[depth] = length;
+	}
+
+	/**
+	 * A cell that prunes a branch becomes a killer move of its depth and adds to
+	 * the history score of its player
+	 */
+	private void addCutoff(int depth, int cell, int remainingDepth, int player) {
+		if (killers[depth][0] != cell) {
+			killers[depth][1] = killers[depth][0];
+			killers[depth][0] = cell;
+		}
+		history[player][cell] += remainingDepth * remainingDepth;
+		cutoffs++;
+	}
+
+	/**
+	 * Fill the move buffer of the depth with the principal variation move, the
+	 * hash move, the killer moves and then the other cells by history score.
+	 * Equal history scores keep the row major order
+	 *
+	 * @return number of moves
+	 */
+	private int orderMoves(int empty, int depth, int pvMove, int hashMove, int player) {
+		int[] moves = moveBuffer[depth];
+		int[] keys = orderBuffer[depth];
+		int[] scores = history[player];
+		int count = 0;
+		for (; empty != 0; empty &= empty - 1) {
+			int cell = Integer.numberOfTrailingZeros(empty);
+			int key = scores[cell];
+			if (cell == pvMove)
+				key = Integer.MAX_VALUE;
+			else if (cell == hashMove)
+				key = Integer.MAX_VALUE - 1;
+			else if (cell == killers[depth][0])
+				key = Integer.MAX_VALUE - 2;
+			else if (cell == killers[depth][1])
+				key = Integer.MAX_VALUE - 3;
+
+			// insertion sort, the buffer is short
+			int i = count++;
+			while (i > 0 && keys[i - 1] < key) {
+				moves[i] = moves[i - 1];
+				keys[i] = keys[i - 1];
+				i--;
+			}
+			moves[i] = cell;
+			keys[i] = key;
+		}
+		return count;
+	}
+
+	/**
+	 * Win scores count the depth from the root, the table stores them counted from
+	 * the position. Evaluations do not depend on the depth
+	 */
+	private static int toTableScore(int score, int depth) {
+		if (!Evaluation.isWin(score))
+			return score;
+		return score > 0 ? score + depth : score - depth;
+	}
+
+	private static int fromTableScore(int score, int depth) {
+		if (!Evaluation.isWin(score))
+			return score;
+		return score > 0 ? score - depth : score + depth;
+	}
+
+	/**
+	 * getters for the search state and statistics
+	 */
+	public boolean isTimeUp() {
+		return timeUp;
+	}
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getCutoffs() {
+		return cutoffs;
+	}
+
+	public long getTableProbes() {
+		return tableProbes;
+	}
+
+	public long getTableHits() {
+		return tableHits;
+	}
+}
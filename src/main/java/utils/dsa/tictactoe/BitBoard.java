@@ -0,0 +1,179 @@
+package utils.dsa.tictactoe;
+
+/**
+ * Bitboard helpers for the 5x5 tic tac toe board. Each player is a 25 bit
+ * mask, the cell in row i and column j is bit i * 5 + j, so increasing bit
+ * order is the row major order of the board. A player wins with five marks in
+ * a row, column or diagonal
+ */
+public final class BitBoard {
+	public static final int SIZE = 5;
+	public static final int CELLS = SIZE * SIZE;
+	public static final int FULL = (1 << CELLS) - 1;
+	public static final char EMPTY = ' ';
+
+	// every row, column and both diagonals
+	public static final int[] WIN_LINES = new int[2 * SIZE + 2];
+	// win lines through each cell, checked after a move on the cell
+	private static final int[][] CELL_LINES = new int[CELLS][];
+	// cell permutations of the 8 symmetries of the square, index 0 is identity
+	public static final int[][] SYMMETRIES = new int[8][CELLS];
+	// inverse permutations, cell of the symmetry back to the original cell
+	public static final int[][] INVERSE_SYMMETRIES = new int[8][CELLS];
+
+	static {
+		int count = 0;
+		for (int i = 0; i < SIZE; i++) {
+			int row = 0;
+			int column = 0;
+			for (int j = 0; j < SIZE; j++) {
+				row |= bit(i, j);
+				column |= bit(j, i);
+			}
+			WIN_LINES[count++] = row;
+			WIN_LINES[count++] = column;
+		}
+		int diagonal = 0;
+		int antiDiagonal = 0;
+		for (int k = 0; k < SIZE; k++) {
+			diagonal |= bit(k, k);
+			antiDiagonal |= bit(k, SIZE - 1 - k);
+		}
+		WIN_LINES[count++] = diagonal;
+		WIN_LINES[count++] = antiDiagonal;
+
+		for (int cell = 0; cell < CELLS; cell++) {
+			int lines = 0;
+			for (int line : WIN_LINES) {
+				if ((line & (1 << cell)) != 0)
+					lines++;
+			}
+			CELL_LINES[cell] = new int[lines];
+			lines = 0;
+			for (int line : WIN_LINES) {
+				if ((line & (1 << cell)) != 0)
+					CELL_LINES[cell][lines++] = line;
+			}
+		}
+
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				int cell = i * SIZE + j;
+				int last = SIZE - 1;
+				SYMMETRIES[0][cell] = cell;
+				SYMMETRIES[1][cell] = j * SIZE + (last - i); // rotate 90
+				SYMMETRIES[2][cell] = (last - i) * SIZE + (last - j); // rotate 180
+				SYMMETRIES[3][cell] = (last - j) * SIZE + i; // rotate 270
+				SYMMETRIES[4][cell] = i * SIZE + (last - j); // mirror columns
+				SYMMETRIES[5][cell] = (last - i) * SIZE + j; // mirror rows
+				SYMMETRIES[6][cell] = j * SIZE + i; // transpose
+				SYMMETRIES[7][cell] = (last - j) * SIZE + (last - i); // anti transpose
+			}
+		}
+		for (int symmetry = 0; symmetry < SYMMETRIES.length; symmetry++) {
+			for (int cell = 0; cell < CELLS; cell++) {
+				INVERSE_SYMMETRIES[symmetry][SYMMETRIES[symmetry][cell]] = cell;
+			}
+		}
+	}
+
+	private BitBoard() {
+	}
+
+	/**
+	 * Bit of the cell in the given row and column
+	 * 
+	 * @param row
+	 * @param col
+	 * @return
+	 */
+	public static int bit(int row, int col) {
+		return 1 << (row * SIZE + col);
+	}
+
+	/**
+	 * Mask of the cells of a player on a char board
+	 * 
+	 * @param board
+	 * @param player
+	 * @return
+	 */
+	public static int toMask(char[][] board, char player) {
+		if (board == null)
+			throw new IllegalArgumentException("board should not be null");
+		int mask = 0;
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				if (board[i][j] == player)
+					mask |= bit(i, j);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Check a player has a complete line
+	 * 
+	 * @param mask
+	 * @return
+	 */
+	public static boolean isWin(int mask) {
+		for (int line : WIN_LINES) {
+			if ((mask & line) == line)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Check a move on the cell completed a line of the player. Lines that do not
+	 * go through the cell can not have changed
+	 * 
+	 * @param mask
+	 * @param cell
+	 * @return
+	 */
+	public static boolean isWin(int mask, int cell) {
+		for (int line : CELL_LINES[cell]) {
+			if ((mask & line) == line)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Move every cell of the mask with a symmetry
+	 * 
+	 * @param mask
+	 * @param symmetry index in SYMMETRIES
+	 * @return
+	 */
+	public static int transform(int mask, int symmetry) {
+		int[] permutation = SYMMETRIES[symmetry];
+		int result = 0;
+		for (int bits = mask; bits != 0; bits &= bits - 1) {
+			result |= 1 << permutation[Integer.numberOfTrailingZeros(bits)];
+		}
+		return result;
+	}
+
+	/**
+	 * Check every cell is taken
+	 * 
+	 * @param occupied
+	 * @return
+	 */
+	public static boolean isFull(int occupied) {
+		return occupied == FULL;
+	}
+
+	/**
+	 * Mask of the empty cells
+	 * 
+	 * @param occupied
+	 * @return
+	 */
+	public static int empty(int occupied) {
+		return ~occupied & FULL;
+	}
+}
@@ -0,0 +1,137 @@
+package utils.dsa.tictactoe;
+
+/**
+ * Static evaluation of a tic tac toe position that is not over, seen from the
+ * first player. Every win line that only holds marks of one player scores by
+ * the number of its marks, a line with marks of both players is blocked and
+ * scores nothing. The marks on each line are counted, so playing or undoing a
+ * cell only updates the lines through that cell
+ *
+ * Wins score WIN minus the depth of the winning move, which is always above
+ * any evaluation
+ */
+public class Evaluation {
+	public static final int WIN = 1000;
+
+	// score of an open line with the given number of marks
+	private static final int[] OPEN_LINE_SCORES = { 0, 1, 4, 16, 64, 256 };
+	// score of a line by the marks of the first and second player
+	private static final int[][] LINE_SCORES = new int[BitBoard.SIZE + 1][BitBoard.SIZE + 1];
+	// win lines through each cell, as indexes of BitBoard.WIN_LINES
+	private static final int[][] CELL_LINES = new int[BitBoard.CELLS][];
+
+	static {
+		for (int first = 0; first <= BitBoard.SIZE; first++) {
+			for (int second = 0; second <= BitBoard.SIZE; second++) {
+				if (first == 0)
+					LINE_SCORES[first][second] = -OPEN_LINE_SCORES[second];
+				else if (second == 0)
+					LINE_SCORES[first][second] = OPEN_LINE_SCORES[first];
+			}
+		}
+		for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+			int count = 0;
+			for (int line : BitBoard.WIN_LINES) {
+				if ((line & (1 << cell)) != 0)
+					count++;
+			}
+			CELL_LINES[cell] = new int[count];
+			count = 0;
+			for (int line = 0; line < BitBoard.WIN_LINES.length; line++) {
+				if ((BitBoard.WIN_LINES[line] & (1 << cell)) != 0)
+					CELL_LINES[cell][count++] = line;
+			}
+		}
+	}
+
+	private final int[][] marks = new int[2][BitBoard.WIN_LINES.length];
+	private int score;
+
+	/**
+	 * Count the marks of a position
+	 *
+	 * @param firstMask  cells of the first player
+	 * @param secondMask cells of the second player
+	 */
+	public void reset(int firstMask, int secondMask) {
+		for (int line = 0; line < BitBoard.WIN_LINES.length; line++) {
+			marks[ZobristHash.FIRST_PLAYER][line] = Integer.bitCount(firstMask & BitBoard.WIN_LINES[line]);
+			marks[ZobristHash.SECOND_PLAYER][line] = Integer.bitCount(secondMask & BitBoard.WIN_LINES[line]);
+		}
+		score = 0;
+		for (int line = 0; line < BitBoard.WIN_LINES.length; line++) {
+			score += LINE_SCORES[marks[ZobristHash.FIRST_PLAYER][line]][marks[ZobristHash.SECOND_PLAYER][line]];
+		}
+	}
+
+	/**
+	 * Play a cell of a player
+	 *
+	 * @param player FIRST_PLAYER or SECOND_PLAYER of ZobristHash
+	 * @param cell
+	 */
+	public void play(int player, int cell) {
+		score = this.scoreWith(player, cell);
+		for (int line : CELL_LINES[cell]) {
+			marks[player][line]++;
+		}
+	}
+
+	/**
+	 * Undo a cell played by a player
+	 *
+	 * @param player
+	 * @param cell
+	 */
+	public void undo(int player, int cell) {
+		int[] first = marks[ZobristHash.FIRST_PLAYER];
+		int[] second = marks[ZobristHash.SECOND_PLAYER];
+		for (int line : CELL_LINES[cell]) {
+			int before = LINE_SCORES[first[line]][second[line]];
+			marks[player][line]--;
+			score += LINE_SCORES[first[line]][second[line]] - before;
+		}
+	}
+
+	/**
+	 * Score of the position after the player plays the cell, the position is not
+	 * changed
+	 *
+	 * @param player
+	 * @param cell
+	 * @return
+	 */
+	public int scoreWith(int player, int cell) {
+		int[] first = marks[ZobristHash.FIRST_PLAYER];
+		int[] second = marks[ZobristHash.SECOND_PLAYER];
+		int result = score;
+		for (int line : CELL_LINES[cell]) {
+			int a = first[line];
+			int b = second[line];
+			if (player == ZobristHash.FIRST_PLAYER)
+				result += LINE_SCORES[a + 1][b] - LINE_SCORES[a][b];
+			else
+				result += LINE_SCORES[a][b + 1] - LINE_SCORES[a][b];
+		}
+		return result;
+	}
+
+	/**
+	 * Score of the current position
+	 *
+	 * @return
+	 */
+	public int score() {
+		return score;
+	}
+
+	/**
+	 * Check a score is a win or a loss rather than an evaluation
+	 *
+	 * @param score
+	 * @return
+	 */
+	public static boolean isWin(int score) {
+		return Math.abs(score) > WIN - BitBoard.CELLS;
+	}
+}
@@ -0,0 +1,185 @@
+package utils.dsa.tictactoe;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read only opening book of best first player cells, memory mapped from a
+ * binary file. Positions are stored by their canonical Zobrist key, so one
+ * entry answers all 8 rotations and reflections of a position, and the cell
+ * is stored in the canonical orientation
+ *
+ * The file is an open addressing hash table: a header of magic, version, slot
+ * count and entry count as ints, the keys of every slot as longs and then the
+ * cell of every slot as a byte, EMPTY_SLOT for unused slots. A lookup probes a
+ * few slots from the key, so it takes constant time
+ */
+public class OpeningBook {
+	public static final int NOT_FOUND = -1;
+	public static final String DEFAULT_RESOURCE = "/tictactoe/opening-book.bin";
+
+	private static final int MAGIC = 0x54544F42; // "TTOB"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	private static final byte EMPTY_SLOT = (byte) 0xFF;
+
+	private static OpeningBook defaultBook;
+	private static boolean defaultLoaded;
+
+	private final MappedByteBuffer buffer;
+	private final int mask;
+	private final int size;
+
+	private OpeningBook(MappedByteBuffer buffer) {
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			throw new IllegalArgumentException("file is not an opening book");
+		int slots = buffer.getInt(8);
+		if (Integer.bitCount(slots) != 1 || buffer.capacity() != HEADER_SIZE + (long) slots * (Long.BYTES + 1))
+			throw new IllegalArgumentException("opening book is truncated");
+		this.buffer = buffer;
+		this.mask = slots - 1;
+		this.size = buffer.getInt(12);
+	}
+
+	/**
+	 * Map a book file
+	 *
+	 * @param path
+	 * @return
+	 * @throws IOException
+	 */
+	public static OpeningBook load(Path path) throws IOException {
+		if (path == null)
+			throw new IllegalArgumentException("path should not be null");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Book of the DEFAULT_RESOURCE, loaded once. A book inside a jar is copied to
+	 * a temporary file first, because only files can be mapped
+	 *
+	 * @return the book, or null if there is no book resource
+	 */
+	public static synchronized OpeningBook getDefault() {
+		if (defaultLoaded)
+			return defaultBook;
+		defaultLoaded = true;
+
+		URL url = OpeningBook.class.getResource(DEFAULT_RESOURCE);
+		if (url == null)
+			return null;
+		try {
+			if ("file".equals(url.getProtocol())) {
+				defaultBook = load(Paths.get(url.toURI()));
+			} else {
+				Path copy = Files.createTempFile("opening-book", ".bin");
+				copy.toFile().deleteOnExit();
+				try (InputStream in = url.openStream()) {
+					Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+				}
+				defaultBook = load(copy);
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new IllegalStateException("opening book can not be loaded", e);
+		}
+		return defaultBook;
+	}
+
+	/**
+	 * Best cell of the first player on a position
+	 *
+	 * @param firstMask  cells of the first player
+	 * @param secondMask cells of the second player
+	 * @return cell of the position or NOT_FOUND
+	 */
+	public int bestCell(int firstMask, int secondMask) {
+		long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+		ZobristHash.hashes(firstMask, secondMask, hashes);
+		int symmetry = ZobristHash.canonicalSymmetry(hashes);
+		int cell = this.lookup(ZobristHash.key(hashes, symmetry, false));
+		return cell == NOT_FOUND ? NOT_FOUND : BitBoard.INVERSE_SYMMETRIES[symmetry][cell];
+	}
+
+	/**
+	 * Canonical cell stored for a canonical key
+	 *
+	 * @param key
+	 * @return cell or NOT_FOUND
+	 */
+	public int lookup(long key) {
+		int cellOffset = HEADER_SIZE + (mask + 1) * Long.BYTES;
+		for (int slot = (int) key & mask;; slot = (slot + 1) & mask) {
+			byte cell = buffer.get(cellOffset + slot);
+			if (cell == EMPTY_SLOT)
+				return NOT_FOUND;
+			if (buffer.getLong(HEADER_SIZE + slot * Long.BYTES) == key)
+				return cell;
+		}
+	}
+
+	/**
+	 * Write a book of canonical keys and their canonical cells. The table is at
+	 * most half full, so lookups of missing keys stop after a few slots
+	 *
+	 * @param out
+	 * @param keys
+	 * @param cells
+	 * @throws IOException
+	 */
+	public static void write(OutputStream out, long[] keys, int[] cells) throws IOException {
+		if (out == null)
+			throw new IllegalArgumentException("output should not be null");
+		if (keys == null || cells == null || keys.length != cells.length)
+			throw new IllegalArgumentException("keys and cells should have the same length");
+
+		int slots = Integer.highestOneBit(Math.max(keys.length, 1)) << 2;
+		long[] slotKeys = new long[slots];
+		byte[] slotCells = new byte[slots];
+		Arrays.fill(slotCells, EMPTY_SLOT);
+		for (int i = 0; i < keys.length; i++) {
+			if (cells[i] < 0 || cells[i] >= BitBoard.CELLS)
+				throw new IllegalArgumentException("cell should be between 0 and " + (BitBoard.CELLS - 1));
+			int slot = (int) keys[i] & (slots - 1);
+			while (slotCells[slot] != EMPTY_SLOT && slotKeys[slot] != keys[i]) {
+				slot = (slot + 1) & (slots - 1);
+			}
+			slotKeys[slot] = keys[i];
+			slotCells[slot] = (byte) cells[i];
+		}
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(slots);
+		data.writeInt(keys.length);
+		for (long key : slotKeys) {
+			data.writeLong(key);
+		}
+		data.write(slotCells);
+		data.flush();
+	}
+
+	/**
+	 * getters
+	 *
+	 * @return number of positions
+	 */
+	public int size() {
+		return size;
+	}
+}
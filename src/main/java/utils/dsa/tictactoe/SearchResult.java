@@ -0,0 +1,87 @@
+package utils.dsa.tictactoe;
+
+/**
+ * Move chosen by a tic tac toe search with the statistics of the search. Nodes
+ * count every position reached by a move, cutoffs the branches pruned by alpha
+ * beta and table hits the positions found in the transposition table. A move
+ * from the opening book searches no nodes and has depth 0
+ */
+public class SearchResult {
+	public static final int NO_CELL = -1;
+
+	private final int cell;
+	private final long nodes;
+	private final long cutoffs;
+	private final long tableHits;
+	private final int depth;
+	private final long elapsedNanos;
+
+	/**
+	 * @param cell         chosen cell or NO_CELL if the board is full
+	 * @param nodes
+	 * @param cutoffs
+	 * @param tableHits
+	 * @param depth        depth of the last completed search below the move
+	 * @param elapsedNanos
+	 */
+	public SearchResult(int cell, long nodes, long cutoffs, long tableHits, int depth, long elapsedNanos) {
+		if (cell < NO_CELL || cell >= BitBoard.CELLS)
+			throw new IllegalArgumentException("cell should be between " + NO_CELL + " and " + (BitBoard.CELLS - 1));
+		this.cell = cell;
+		this.nodes = nodes;
+		this.cutoffs = cutoffs;
+		this.tableHits = tableHits;
+		this.depth = depth;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Row and column of the cell, {-1, -1} if there is no move
+	 *
+	 * @return
+	 */
+	public int[] getMove() {
+		return new int[] { this.getRow(), this.getCol() };
+	}
+
+	/**
+	 * getters
+	 */
+	public int getCell() {
+		return cell;
+	}
+
+	public int getRow() {
+		return cell == NO_CELL ? NO_CELL : cell / BitBoard.SIZE;
+	}
+
+	public int getCol() {
+		return cell == NO_CELL ? NO_CELL : cell % BitBoard.SIZE;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getCutoffs() {
+		return cutoffs;
+	}
+
+	public long getTableHits() {
+		return tableHits;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "SearchResult [cell=" + cell + ", nodes=" + nodes + ", cutoffs=" + cutoffs + ", tableHits=" + tableHits
+				+ ", depth=" + depth + ", elapsedNanos=" + elapsedNanos + "]";
+	}
+}
@@ -0,0 +1,140 @@
+package utils.dsa.tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size transposition table for the tic tac toe search. Entries are
+ * packed in an int next to their 64 bit key: the score, the remaining search
+ * depth, the bound type, the best cell and the search generation. A slot is
+ * replaced when it is empty, holds the same position, comes from an older
+ * search or was searched less deep than the new entry
+ *
+ * Threads can share a table without locks: the key is stored xored with its
+ * entry, so an entry and key written by different threads do not match and are
+ * read as missing
+ */
+public class TranspositionTable {
+	public static final int DEFAULT_SIZE = 1 << 16;
+	public static final int NOT_FOUND = -1;
+
+	// bound types of the stored score
+	public static final int EXACT = 0;
+	public static final int LOWER_BOUND = 1;
+	public static final int UPPER_BOUND = 2;
+	public static final int NO_MOVE = 31;
+
+	// score 12 bits, depth 5 bits, bound 2 bits, move 5 bits, generation 8 bits
+	private static final int SCORE_OFFSET = 2048;
+	private static final int DEPTH_SHIFT = 12;
+	private static final int BOUND_SHIFT = 17;
+	private static final int MOVE_SHIFT = 19;
+	private static final int GENERATION_SHIFT = 24;
+
+	private final long[] keys;
+	private final int[] entries;
+	private final int mask;
+	private int generation;
+
+	/**
+	 * Create a table with the default size
+	 */
+	public TranspositionTable() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Create a table with the given number of slots, rounded up to a power of two
+	 * 
+	 * @param size
+	 */
+	public TranspositionTable(int size) {
+		if (size < 1 || size > 1 << 30)
+			throw new IllegalArgumentException("size should be between 1 and 2^30");
+		int slots = Integer.highestOneBit(size);
+		if (slots < size)
+			slots <<= 1;
+		keys = new long[slots];
+		entries = new int[slots];
+		mask = slots - 1;
+		this.clear();
+	}
+
+	/**
+	 * Start a new search, entries of older searches are replaced first
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & 0xFF;
+	}
+
+	/**
+	 * Find the entry of a position
+	 * 
+	 * @param key
+	 * @return packed entry or NOT_FOUND
+	 */
+	public int probe(long key) {
+		int slot = (int) key & mask;
+		int entry = entries[slot];
+		if (entry == NOT_FOUND || (keys[slot] ^ entry) != key)
+			return NOT_FOUND;
+		return entry;
+	}
+
+	/**
+	 * Store the result of a search
+	 * 
+	 * @param key
+	 * @param depth remaining depth of the search, 0 to 31
+	 * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+	 * @param score -2047 to 2047
+	 * @param move  best cell or NO_MOVE
+	 */
+	public void store(long key, int depth, int bound, int score, int move) {
+		int slot = (int) key & mask;
+		int old = entries[slot];
+		if (old != NOT_FOUND && (keys[slot] ^ old) != key && generation(old) == generation && depth(old) > depth)
+			return;
+
+		int entry = (score + SCORE_OFFSET) | (depth << DEPTH_SHIFT) | (bound << BOUND_SHIFT) | (move << MOVE_SHIFT)
+				| (generation << GENERATION_SHIFT);
+		entries[slot] = entry;
+		keys[slot] = key ^ entry;
+	}
+
+	/**
+	 * Remove every entry
+	 */
+	public void clear() {
+		Arrays.fill(entries, NOT_FOUND);
+	}
+
+	/**
+	 * fields of a packed entry
+	 */
+	public static int score(int entry) {
+		return (entry & 0xFFF) - SCORE_OFFSET;
+	}
+
+	public static int depth(int entry) {
+		return (entry >>> DEPTH_SHIFT) & 0x1F;
+	}
+
+	public static int bound(int entry) {
+		return (entry >>> BOUND_SHIFT) & 0x3;
+	}
+
+	public static int move(int entry) {
+		return (entry >>> MOVE_SHIFT) & 0x1F;
+	}
+
+	private static int generation(int entry) {
+		return (entry >>> GENERATION_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * getters
+	 */
+	public int size() {
+		return keys.length;
+	}
+}
@@ -0,0 +1,94 @@
+package utils.dsa.tictactoe;
+
+import java.util.Random;
+
+/**
+ * Zobrist hashing of tic tac toe positions. A position has one hash for each of
+ * the 8 board symmetries and the smallest of them is the canonical key, so
+ * rotated and mirrored positions share their transposition table entries. The
+ * hashes are updated with one xor per symmetry when a cell is played or undone
+ */
+public final class ZobristHash {
+	public static final int SYMMETRY_COUNT = BitBoard.SYMMETRIES.length;
+	public static final int FIRST_PLAYER = 0;
+	public static final int SECOND_PLAYER = 1;
+
+	// fixed seed keeps keys stable between runs
+	private static final long SEED = 0x5EED_7AC7_0E5L;
+	private static final long[][] CELL_KEYS = new long[2][BitBoard.CELLS];
+	private static final long SIDE_KEY;
+
+	static {
+		Random rand = new Random(SEED);
+		for (int player = 0; player < 2; player++) {
+			for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+				CELL_KEYS[player][cell] = rand.nextLong();
+			}
+		}
+		SIDE_KEY = rand.nextLong();
+	}
+
+	private ZobristHash() {
+	}
+
+	/**
+	 * Compute the hash of every symmetry of a position
+	 * 
+	 * @param firstMask  cells of the first player
+	 * @param secondMask cells of the second player
+	 * @param hashes     array of SYMMETRY_COUNT hashes to fill
+	 */
+	public static void hashes(int firstMask, int secondMask, long[] hashes) {
+		for (int symmetry = 0; symmetry < SYMMETRY_COUNT; symmetry++) {
+			hashes[symmetry] = 0;
+		}
+		for (int bits = firstMask; bits != 0; bits &= bits - 1) {
+			toggle(hashes, FIRST_PLAYER, Integer.numberOfTrailingZeros(bits));
+		}
+		for (int bits = secondMask; bits != 0; bits &= bits - 1) {
+			toggle(hashes, SECOND_PLAYER, Integer.numberOfTrailingZeros(bits));
+		}
+	}
+
+	/**
+	 * Play or undo a cell of a player on every symmetry hash
+	 * 
+	 * @param hashes
+	 * @param player FIRST_PLAYER or SECOND_PLAYER
+	 * @param cell
+	 */
+	public static void toggle(long[] hashes, int player, int cell) {
+		long[] keys = CELL_KEYS[player];
+		for (int symmetry = 0; symmetry < SYMMETRY_COUNT; symmetry++) {
+			hashes[symmetry] ^= keys[BitBoard.SYMMETRIES[symmetry][cell]];
+		}
+	}
+
+	/**
+	 * Symmetry with the smallest hash. The canonical key of the position is the
+	 * hash of this symmetry
+	 * 
+	 * @param hashes
+	 * @return
+	 */
+	public static int canonicalSymmetry(long[] hashes) {
+		int best = 0;
+		for (int symmetry = 1; symmetry < SYMMETRY_COUNT; symmetry++) {
+			if (hashes[symmetry] < hashes[best])
+				best = symmetry;
+		}
+		return best;
+	}
+
+	/**
+	 * Canonical key of the position with the side to move
+	 * 
+	 * @param hashes
+	 * @param symmetry   canonical symmetry of the hashes
+	 * @param secondMove true if the second player moves next
+	 * @return
+	 */
+	public static long key(long[] hashes, int symmetry, boolean secondMove) {
+		return secondMove ? hashes[symmetry] ^ SIDE_KEY : hashes[symmetry];
+	}
+}
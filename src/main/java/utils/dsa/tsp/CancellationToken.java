@@ -0,0 +1,50 @@
+package utils.dsa.tsp;
+
+/**
+ * Cancellation token for long running solvers. A token is cancelled when
+ * cancel is called or when its deadline has passed. Solvers poll it and stop
+ * with the best result found so far
+ */
+public class CancellationToken {
+	private volatile boolean cancelled;
+	private final long deadline;
+	private final boolean hasDeadline;
+
+	/**
+	 * Create a token without a deadline
+	 */
+	public CancellationToken() {
+		this.deadline = 0;
+		this.hasDeadline = false;
+	}
+
+	/**
+	 * Create a token that is cancelled after the given time
+	 * 
+	 * @param timeoutMillis
+	 */
+	public CancellationToken(long timeoutMillis) {
+		if (timeoutMillis < 0)
+			throw new IllegalArgumentException("timeout should not be negative");
+		this.deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+		this.hasDeadline = true;
+	}
+
+	/**
+	 * Cancel the token
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Check the token is cancelled or its deadline has passed
+	 * 
+	 * @return
+	 */
+	public boolean isCancelled() {
+		if (!cancelled && hasDeadline && System.nanoTime() - deadline >= 0)
+			cancelled = true;
+		return cancelled;
+	}
+}
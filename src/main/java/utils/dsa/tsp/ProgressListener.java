@@ -0,0 +1,12 @@
+package utils.dsa.tsp;
+
+/**
+ * Listener for the best route found so far by a solver. It is called on the
+ * solver thread every time the solver improves its best route
+ *
+ * @param <N>
+ */
+@FunctionalInterface
+public interface ProgressListener<N> {
+	void onProgress(TspResult<N> bestSoFar);
+}
@@ -0,0 +1,77 @@
+package utils.dsa.tsp;
+
+import utils.dsa.branchandbound.BranchAndBound;
+import utils.dsa.bruteforce.BruteForce;
+import utils.dsa.genetic.Genetic;
+import utils.dsa.graph.Graph;
+import utils.dsa.heldkarp.HeldKarp;
+
+/**
+ * Traveling sales man algorithms with their display names. Exact algorithms
+ * always find an optimal route, the others only a good one
+ */
+public enum TspAlgorithm {
+	BRUTE_FORCE("Brute Force Algorithm", true) {
+		@Override
+		public <N> TspSolver<N> createSolver(Graph<N> graph) {
+			return new BruteForce<N>(graph);
+		}
+	},
+	BRANCH_AND_BOUND("Branch and Bound Algorithm", true) {
+		@Override
+		public <N> TspSolver<N> createSolver(Graph<N> graph) {
+			return new BranchAndBound<N>(graph);
+		}
+	},
+	HELD_KARP("Held Karp Algorithm", true) {
+		@Override
+		public <N> TspSolver<N> createSolver(Graph<N> graph) {
+			return new HeldKarp<N>(graph);
+		}
+	},
+	GENETIC("Genetic Algorithm", false) {
+		@Override
+		public <N> TspSolver<N> createSolver(Graph<N> graph) {
+			return new Genetic<N>(graph);
+		}
+	};
+
+	private final String displayName;
+	private final boolean exact;
+
+	TspAlgorithm(String displayName, boolean exact) {
+		this.displayName = displayName;
+		this.exact = exact;
+	}
+
+	/**
+	 * Create a new solver of the algorithm for the graph
+	 * 
+	 * @param <N>
+	 * @param graph
+	 * @return
+	 */
+	public abstract <N> TspSolver<N> createSolver(Graph<N> graph);
+
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	public boolean isExact() {
+		return exact;
+	}
+
+	/**
+	 * Find the algorithm of a display name
+	 * 
+	 * @param displayName
+	 * @return
+	 */
+	public static TspAlgorithm fromDisplayName(String displayName) {
+		for (TspAlgorithm algorithm : values()) {
+			if (algorithm.displayName.equals(displayName))
+				return algorithm;
+		}
+		throw new IllegalArgumentException("algorithm is not found for " + displayName);
+	}
+}
@@ -0,0 +1,195 @@
+package utils.dsa.tsp;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.graph.Graph;
+
+/**
+ * Size bounded least recently used cache of solved routes. Entries are keyed by
+ * the algorithm, the home node, the set of selected nodes and a fingerprint of
+ * the edge weights between those nodes, so a changed weight never returns a
+ * stale route. Only complete results are stored
+ *
+ * @param <N>
+ */
+public class TspCache<N> {
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private final int capacity;
+	private final Map<Key<N>, TspResult<N>> entries;
+	private long hits;
+	private long misses;
+
+	/**
+	 * Create a cache with the default capacity
+	 */
+	public TspCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a cache that keeps at most the given number of routes
+	 *
+	 * @param capacity
+	 */
+	public TspCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity should be at least 1");
+		this.capacity = capacity;
+		// access ordered map keeps the least recently used entry first
+		this.entries = new LinkedHashMap<Key<N>, TspResult<N>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key<N>, TspResult<N>> eldest) {
+				return size() > TspCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Return the cached route or solve it with the algorithm. A cached route is
+	 * reported to the listener once, like a solver that finished at once
+	 *
+	 * @param graph
+	 * @param algorithm
+	 * @param homeNode
+	 * @param selectedNodes
+	 * @param token         cancellation token, can be null
+	 * @param listener      best so far listener, can be null
+	 * @return
+	 */
+	public TspResult<N> solve(Graph<N> graph, TspAlgorithm algorithm, N homeNode, List<N> selectedNodes,
+			CancellationToken token, ProgressListener<N> listener) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph should not be null");
+		if (algorithm == null)
+			throw new IllegalArgumentException("algorithm should not be null");
+		if (homeNode == null)
+			throw new IllegalArgumentException("home node should not be null");
+		if (selectedNodes == null)
+			throw new IllegalArgumentException("selected nodes should not be null");
+
+		Key<N> key = new Key<N>(graph, algorithm, homeNode, selectedNodes);
+		TspResult<N> result = this.get(key);
+		if (result != null) {
+			if (listener != null)
+				listener.onProgress(result);
+			return result;
+		}
+
+		// solve outside the lock so other lookups are not blocked
+		result = algorithm.createSolver(graph).solve(homeNode, selectedNodes, token, listener);
+		if (result.isComplete()) {
+			synchronized (this) {
+				entries.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	private synchronized TspResult<N> get(Key<N> key) {
+		TspResult<N> result = entries.get(key);
+		if (result != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return result;
+	}
+
+	/**
+	 * Remove every cached route, the counters are kept
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * getters for cache statistics
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Cache key of a solve. The fingerprint sums a mixed hash of every weight
+	 * with its endpoints, which does not depend on the order of the selected
+	 * nodes
+	 *
+	 * @param <N>
+	 */
+	private static final class Key<N> {
+		private final TspAlgorithm algorithm;
+		private final N homeNode;
+		private final Set<N> selectedNodes;
+		private final int selectedCount;
+		private final long fingerprint;
+
+		Key(Graph<N> graph, TspAlgorithm algorithm, N homeNode, List<N> selectedNodes) {
+			this.algorithm = algorithm;
+			this.homeNode = homeNode;
+			this.selectedNodes = new HashSet<N>(selectedNodes);
+			this.selectedCount = selectedNodes.size();
+
+			List<N> vertices = new ArrayList<N>();
+			vertices.add(homeNode);
+			vertices.addAll(this.selectedNodes);
+			DistanceMatrix<N> distances = graph.toDistanceMatrix(vertices);
+			long sum = 0;
+			for (int i = 0; i < distances.size(); i++) {
+				long source = mix(distances.getVertex(i).hashCode());
+				for (int j = 0; j < distances.size(); j++) {
+					long destination = mix(distances.getVertex(j).hashCode() ^ 0x5bd1e995L);
+					sum += mix(source * 31 + destination + Double.doubleToLongBits(distances.getWeight(i, j)));
+				}
+			}
+			this.fingerprint = sum;
+		}
+
+		/**
+		 * 64 bit finalizer of SplitMix64
+		 */
+		private static long mix(long value) {
+			value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+			value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+			return value ^ (value >>> 31);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key<?> other = (Key<?>) obj;
+			return fingerprint == other.fingerprint && selectedCount == other.selectedCount
+					&& algorithm == other.algorithm && homeNode.equals(other.homeNode)
+					&& selectedNodes.equals(other.selectedNodes);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(algorithm, homeNode, selectedNodes, fingerprint);
+		}
+	}
+}
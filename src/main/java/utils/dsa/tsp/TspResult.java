@@ -0,0 +1,47 @@
+package utils.dsa.tsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable route and distance of a traveling sales man solver. Incomplete
+ * results come from progress updates or from solvers stopped before the end
+ *
+ * @param <N>
+ */
+public final class TspResult<N> {
+	private final List<N> route;
+	private final double distance;
+	private final boolean complete;
+
+	/**
+	 * Create a result of a route
+	 * 
+	 * @param route
+	 * @param distance
+	 * @param complete
+	 */
+	public TspResult(List<N> route, double distance, boolean complete) {
+		if (route == null)
+			throw new IllegalArgumentException("route should not be null");
+		this.route = Collections.unmodifiableList(new ArrayList<N>(route));
+		this.distance = distance;
+		this.complete = complete;
+	}
+
+	/**
+	 * getters for result properties
+	 */
+	public List<N> getRoute() {
+		return route;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+}
@@ -0,0 +1,24 @@
+package utils.dsa.tsp;
+
+import java.util.List;
+
+/**
+ * Common interface of the traveling sales man solvers. Routes start and end at
+ * the home node. Solvers poll the token and return the best route found so far
+ * as an incomplete result when it is cancelled
+ *
+ * @param <N>
+ */
+public interface TspSolver<N> {
+
+	/**
+	 * Solve the route from home through all the selected nodes
+	 * 
+	 * @param homeNode
+	 * @param selectedNodes
+	 * @param token         cancellation token, can be null
+	 * @param listener      best so far listener, can be null
+	 * @return
+	 */
+	TspResult<N> solve(N homeNode, List<N> selectedNodes, CancellationToken token, ProgressListener<N> listener);
+}
@@ -36,6 +36,7 @@ public class TravelingSalesManView extends JFrame {
 	private JScrollPane userSelectedPathScroll;
 	private JTextArea userSelectedPathTxtBx = null;
 	private JButton shortestPathBtn = null;
+	private JButton cancelBtn = null;
 	private JTextPane calcSourceTxtBx = null;
 	private JTextPane calcDistanceTxtBx = null;
 	private JScrollPane calcSelectedPathScroll;
@@ -116,6 +117,9 @@ public class TravelingSalesManView extends JFrame {
 
 		shortestPathBtn = new JButton("Find Shortest Path");
 
+		cancelBtn = new JButton("Cancel");
+		cancelBtn.setEnabled(false);
+
 		calcSourceTxtBx = new JTextPane();
 		calcSourceTxtBx.setEditable(false);
 		calcSourceTxtBx.setPreferredSize(new Dimension(110, 30));
@@ -228,7 +232,8 @@ public class TravelingSalesManView extends JFrame {
 
 		JPanel findBtnPnl = new JPanel();
 		findBtnPnl.setLayout(new BorderLayout());
-		findBtnPnl.add(shortestPathBtn);
+		findBtnPnl.add(shortestPathBtn, BorderLayout.CENTER);
+		findBtnPnl.add(cancelBtn, BorderLayout.EAST);
 		controlRowPnls[2].add(findBtnPnl);
 
 		controlRowPnls[2].setPreferredSize(new Dimension(250, 50));
@@ -334,6 +339,14 @@ public class TravelingSalesManView extends JFrame {
 		this.shortestPathBtn = shortestPathBtn;
 	}
 
+	public JButton getCancelBtn() {
+		return cancelBtn;
+	}
+
+	public void setCancelBtn(JButton cancelBtn) {
+		this.cancelBtn = cancelBtn;
+	}
+
 	public JTextPane getCalcSourceTxtBx() {
 		return calcSourceTxtBx;
 	}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,13 @@ import com.mongodb.client.model.ReturnDocument;
 import dev.morphia.ModifyOptions;
 import dev.morphia.query.filters.Filters;
 import dev.morphia.query.updates.UpdateOperators;
+import dev.morphia.Datastore;
+import models.entities.EightQueensResult;
+import models.entities.KnightTourResult;
 import models.entities.TestCollection;
+import models.entities.TicTacToeResult;
+import models.entities.TowerOfHanoiResult;
+import models.entities.TravelingSalesManResult;
 import models.exceptions.DatabaseException;
 import utils.DatabaseConnection;
 
@@ -50,6 +57,26 @@ public class DatabaseConnectionTest {
 				"database connection should be same because database connection implemented with singleton");
 	}
 
+	/**
+	 * test every result entity is mapped and has its declared indexes
+	 */
+	@Test
+	void testEntitiesMappedWithIndexes() throws DatabaseException {
+		Datastore datastore = DatabaseConnection.getInstance().getDatastore();
+		Class<?>[] entities = { EightQueensResult.class, KnightTourResult.class, TicTacToeResult.class,
+				TowerOfHanoiResult.class, TravelingSalesManResult.class };
+		for (Class<?> entity : entities) {
+			assertTrue(datastore.getMapper().isMapped(entity), entity.getSimpleName() + " should be mapped");
+		}
+		// knight tour and traveling sales man results are only saved, so they have no declared index
+		Class<?>[] queried = { EightQueensResult.class, TicTacToeResult.class, TowerOfHanoiResult.class };
+		for (Class<?> entity : queried) {
+			// the _id index and at least one declared index
+			int indexes = datastore.getCollection(entity).listIndexes().into(new java.util.ArrayList<>()).size();
+			assertTrue(indexes > 1, entity.getSimpleName() + " should have its indexes");
+		}
+	}
+
 	/**
 	 * test database CRUD operations
 	 */
@@ -0,0 +1,161 @@
+package database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mongodb.MongoClientSettings;
+
+import utils.ResultWriter;
+
+public class ResultWriterTest {
+	@TempDir
+	Path directory;
+
+	private final List<Object> stored = Collections.synchronizedList(new ArrayList<>());
+	private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void testResultsStoredInBatches() {
+		ResultWriter writer = this.writer(results -> {
+			batchSizes.add(results.size());
+			stored.addAll(results);
+		}, 16, 3, 0);
+		for (int i = 0; i < 7; i++) {
+			writer.submit(new Document("move", i));
+		}
+		writer.flush();
+		writer.close();
+
+		assertEquals(7, stored.size());
+		assertTrue(batchSizes.stream().allMatch(size -> size <= 3));
+		assertFalse(Files.exists(writer.getSpillFile()));
+	}
+
+	@Test
+	public void testFailedBatchRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+		ResultWriter writer = this.writer(results -> {
+			if (attempts.incrementAndGet() <= 2)
+				throw new IllegalStateException("database unreachable");
+			stored.addAll(results);
+		}, 16, 8, 3);
+		writer.submit(new Document("move", 1));
+		writer.flush();
+		writer.close();
+
+		assertEquals(3, attempts.get());
+		assertEquals(1, stored.size());
+		assertFalse(Files.exists(writer.getSpillFile()));
+	}
+
+	@Test
+	public void testSpilledResultsReplayed() throws IOException {
+		ResultWriter failing = this.writer(results -> {
+			throw new IllegalStateException("database unreachable");
+		}, 16, 8, 1);
+		failing.submit(new Document("move", 1).append("nodes", 42L));
+		failing.submit(new Document("move", 2).append("nodes", 7L));
+		failing.flush();
+		failing.close();
+		assertEquals(2, Files.readAllLines(failing.getSpillFile()).size());
+
+		ResultWriter writer = this.writer(stored::addAll, 16, 8, 0);
+		writer.close();
+
+		assertEquals(List.of(new Document("move", 1).append("nodes", 42L), new Document("move", 2).append("nodes", 7L)),
+				stored);
+		assertFalse(Files.exists(writer.getSpillFile()));
+	}
+
+	@Test
+	public void testFullQueueSpilled() throws Exception {
+		CountDownLatch storing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ResultWriter writer = this.writer(results -> {
+			storing.countDown();
+			release.await();
+			stored.addAll(results);
+		}, 2, 1, 0);
+
+		writer.submit(new Document("move", 0));
+		assertTrue(storing.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i <= 3; i++) {
+			writer.submit(new Document("move", i));
+		}
+		// the writer is busy and the queue holds two results, the third is spilled
+		assertEquals(1, Files.readAllLines(writer.getSpillFile()).size());
+
+		release.countDown();
+		writer.flush();
+		writer.close();
+
+		assertEquals(4, stored.size());
+		assertFalse(Files.exists(writer.getSpillFile()));
+	}
+
+	@Test
+	public void testCloseSpillsWhenStoreHangs() throws Exception {
+		CountDownLatch storing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ResultWriter writer = this.writer(results -> {
+			storing.countDown();
+			release.await();
+			stored.addAll(results);
+		}, 16, 1, 0);
+
+		writer.submit(new Document("move", 0));
+		assertTrue(storing.await(5, TimeUnit.SECONDS));
+		writer.submit(new Document("move", 1));
+		writer.submit(new Document("move", 2));
+		long start = System.nanoTime();
+		writer.close(100);
+
+		// the result being stored and the queued ones are kept on disk
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+		assertEquals(3, Files.readAllLines(writer.getSpillFile()).size());
+		writer.flush();
+		release.countDown();
+	}
+
+	@Test
+	public void testUndecodableSpillLinesKept() throws IOException {
+		Path spillFile = directory.resolve("pending-results.jsonl");
+		Path badFile = directory.resolve("pending-results.jsonl.bad");
+		Files.write(spillFile, List.of("org.bson.Document\t{\"move\": 1}", "missing.Result\t{\"move\": 2}",
+				"org.bson.Document\t{\"move\": "));
+
+		ResultWriter failing = this.writer(results -> {
+			throw new IllegalStateException("database unreachable");
+		}, 16, 8, 0);
+		failing.close();
+		assertEquals(2, Files.readAllLines(badFile).size());
+
+		ResultWriter writer = this.writer(stored::addAll, 16, 8, 0);
+		writer.close();
+
+		assertEquals(List.of(new Document("move", 1)), stored);
+		assertEquals(List.of("missing.Result\t{\"move\": 2}", "org.bson.Document\t{\"move\": "),
+				Files.readAllLines(badFile));
+		assertFalse(Files.exists(spillFile));
+	}
+
+	private ResultWriter writer(ResultWriter.BatchStore store, int capacity, int batchSize, int retries) {
+		return new ResultWriter(store, MongoClientSettings.getDefaultCodecRegistry(),
+				directory.resolve("pending-results.jsonl"), capacity, batchSize, 20, retries, 1);
+	}
+}
@@ -0,0 +1,42 @@
+package eightqueens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.ArrayList;
+import utils.dsa.queens.Backtracking;
+
+public class BacktrackingTest {
+
+	/**
+	 * Test the number of solutions for known board sizes
+	 */
+	@Test
+	public void testSolutionCounts() {
+		int[] expected = { 1, 0, 0, 2, 10, 4, 40, 92 };
+		for (int size = 1; size <= expected.length; size++) {
+			assertEquals(expected[size - 1], new Backtracking(size).calculate().size());
+		}
+	}
+
+	/**
+	 * Test every solution of the eight queens puzzle is valid
+	 */
+	@Test
+	public void testSolutionsAreValid() {
+		ArrayList<int[]> solutions = new Backtracking(8).calculate();
+		for (int i = 0; i < solutions.size(); i++) {
+			int[] board = solutions.get(i);
+			for (int a = 0; a < board.length; a++) {
+				for (int b = 0; b < a; b++) {
+					assertTrue(board[a] != board[b]);
+					assertTrue(Math.abs(board[a] - board[b]) != a - b);
+				}
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> new Backtracking(0));
+	}
+}
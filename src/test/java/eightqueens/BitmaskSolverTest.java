@@ -0,0 +1,74 @@
+package eightqueens;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.ArrayList;
+import utils.dsa.queens.Backtracking;
+import utils.dsa.queens.BitmaskSolver;
+import utils.dsa.queens.Symmetry;
+
+public class BitmaskSolverTest {
+
+	/**
+	 * Test the number of solutions for known board sizes
+	 */
+	@Test
+	public void testSolutionCounts() {
+		long[] expected = { 1, 0, 0, 2, 10, 4, 40, 92, 352, 724, 2680, 14200, 73712 };
+		for (int size = 1; size <= expected.length; size++) {
+			assertEquals(expected[size - 1], new BitmaskSolver(size).count());
+			assertEquals(expected[size - 1], new BitmaskSolver(size).calculate().size());
+		}
+	}
+
+	/**
+	 * Test the solutions are the backtracking solutions in the same order, with
+	 * any number of workers
+	 */
+	@Test
+	public void testSolutionsMatchBacktracking() {
+		ArrayList<int[]> expected = new Backtracking(8).calculate();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ArrayList<int[]> solutions = new BitmaskSolver(8, pool).calculate();
+			assertEquals(expected.size(), solutions.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertArrayEquals(expected.get(i), solutions.get(i));
+			}
+			assertEquals(365596, new BitmaskSolver(14, pool).count());
+		} finally {
+			pool.shutdown();
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> new BitmaskSolver(0));
+		assertThrows(IllegalArgumentException.class, () -> new BitmaskSolver(BitmaskSolver.MAX_SIZE + 1));
+		assertThrows(IllegalArgumentException.class, () -> new BitmaskSolver(8, null));
+	}
+
+	/**
+	 * Test the number of fundamental solutions and their expansion into every
+	 * solution
+	 */
+	@Test
+	public void testFundamentalSolutions() {
+		int[] expected = { 1, 0, 0, 1, 2, 1, 6, 12, 46, 92 };
+		for (int size = 1; size <= expected.length; size++) {
+			BitmaskSolver solver = new BitmaskSolver(size);
+			ArrayList<int[]> fundamentals = solver.calculateFundamental();
+			assertEquals(expected[size - 1], fundamentals.size());
+
+			ArrayList<int[]> all = solver.calculate();
+			ArrayList<int[]> expanded = Symmetry.expand(fundamentals);
+			assertEquals(all.size(), expanded.size());
+			for (int i = 0; i < all.size(); i++) {
+				assertArrayEquals(all.get(i), expanded.get(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package eightqueens;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.ArrayList;
+import utils.dsa.queens.BitmaskSolver;
+import utils.dsa.queens.RecognitionIndex;
+
+public class RecognitionIndexTest {
+
+	/**
+	 * Test every solution is found by its positions and other positions are not
+	 */
+	@Test
+	public void testIndexOf() {
+		ArrayList<int[]> solutions = new BitmaskSolver(8).calculate();
+		RecognitionIndex index = new RecognitionIndex(8, solutions);
+		assertEquals(92, index.size());
+		for (int id = 0; id < solutions.size(); id++) {
+			assertEquals(id, index.indexOf(solutions.get(id)));
+		}
+		assertEquals(RecognitionIndex.NOT_FOUND, index.indexOf(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }));
+		assertEquals(RecognitionIndex.NOT_FOUND, index.indexOf(new int[] { 0, 4, 7, 5, 2, 6, 1 }));
+		assertEquals(RecognitionIndex.NOT_FOUND, index.indexOf(new int[] { 0, 4, 7, 5, 2, 6, 1, 8 }));
+		assertEquals(RecognitionIndex.NOT_FOUND, index.indexOf(null));
+		assertThrows(IllegalArgumentException.class, () -> new RecognitionIndex(RecognitionIndex.MAX_SIZE + 1, solutions));
+	}
+
+	/**
+	 * Test recognizing, counting, taking back and clearing solutions
+	 */
+	@Test
+	public void testRecognize() {
+		RecognitionIndex index = new RecognitionIndex(10, new BitmaskSolver(10).calculate());
+		assertFalse(index.isRecognized(70));
+		assertTrue(index.recognize(70));
+		assertFalse(index.recognize(70)); // already recognized
+		assertTrue(index.recognize(3));
+		assertTrue(index.recognize(500));
+		assertTrue(index.isRecognized(70));
+		assertEquals(3, index.getRecognizedCount());
+
+		assertTrue(index.unrecognize(500));
+		assertFalse(index.unrecognize(500)); // already taken back
+		assertFalse(index.isRecognized(500));
+		assertEquals(2, index.getRecognizedCount());
+
+		assertArrayEquals(new int[] { 3, 70 }, index.clear());
+		assertFalse(index.isRecognized(70));
+		assertEquals(0, index.getRecognizedCount());
+		assertThrows(IllegalArgumentException.class, () -> index.isRecognized(724));
+	}
+
+	/**
+	 * Test concurrent claims of the same solutions succeed once each
+	 */
+	@Test
+	public void testConcurrentRecognize() throws Exception {
+		RecognitionIndex index = new RecognitionIndex(8, new BitmaskSolver(8).calculate());
+		AtomicInteger claimed = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ArrayList<Future<?>> tasks = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				tasks.add(executor.submit(() -> {
+					for (int id = 0; id < index.size(); id++) {
+						if (index.recognize(id))
+							claimed.incrementAndGet();
+					}
+				}));
+			}
+			for (int i = 0; i < tasks.size(); i++) {
+				tasks.get(i).get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(92, claimed.get());
+		assertEquals(92, index.getRecognizedCount());
+	}
+}
@@ -0,0 +1,43 @@
+package eightqueens;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.ArrayList;
+import utils.dsa.queens.Symmetry;
+
+public class SymmetryTest {
+
+	/**
+	 * Test the transforms of a solution and its canonical form
+	 */
+	@Test
+	public void testTransforms() {
+		int[] solution = { 1, 3, 0, 2 };
+		assertArrayEquals(solution, Symmetry.transform(solution, 0));
+		assertArrayEquals(new int[] { 2, 0, 3, 1 }, Symmetry.transform(solution, 1)); // mirrored rows
+		assertArrayEquals(new int[] { 2, 0, 3, 1 }, Symmetry.transform(solution, 2)); // mirrored columns
+		assertArrayEquals(new int[] { 2, 0, 3, 1 }, Symmetry.transform(solution, 4)); // swapped rows and columns
+
+		int[] eight = { 7, 1, 3, 0, 6, 4, 2, 5 };
+		int[] canonical = Symmetry.canonical(eight);
+		for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+			assertArrayEquals(canonical, Symmetry.canonical(Symmetry.transform(eight, symmetry)));
+		}
+		assertTrue(Symmetry.isFundamental(canonical));
+		assertFalse(Symmetry.isFundamental(eight));
+
+		ArrayList<int[]> fundamentals = new ArrayList<>();
+		fundamentals.add(Symmetry.canonical(solution));
+		assertEquals(2, Symmetry.expand(fundamentals).size()); // the 4 queens solution is symmetric
+
+		assertThrows(IllegalArgumentException.class, () -> Symmetry.transform(null, 0));
+		assertThrows(IllegalArgumentException.class, () -> Symmetry.transform(solution, Symmetry.COUNT));
+		assertThrows(IllegalArgumentException.class, () -> Symmetry.transform(new int[] { 0, 4 }, 0));
+	}
+}
@@ -0,0 +1,59 @@
+package services;
+
+import dev.morphia.Datastore;
+import dev.morphia.DeleteOptions;
+import dev.morphia.Morphia;
+import com.mongodb.client.MongoClients;
+import models.entities.EightQueensResult;
+import utils.dsa.ArrayList;
+import utils.dsa.queens.Backtracking;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the batched Eight Queens persistence.
+ */
+class EightQueensRepositoryTest {
+    private static Datastore datastore;
+    private EightQueensRepository repository;
+
+    @BeforeAll
+    static void setupDB() {
+        datastore = Morphia.createDatastore(MongoClients.create("mongodb://localhost:27017"), "test_db");
+        datastore.getMapper().map(EightQueensResult.class);
+    }
+
+    @BeforeEach
+    void clearDB() {
+        datastore.find(EightQueensResult.class).delete(new DeleteOptions().multi(true));
+        repository = new EightQueensRepository(datastore);
+    }
+
+    /**
+     * Test stored solutions are replaced by the solutions of a new search.
+     */
+    @Test
+    void testReplaceSolutions() {
+        ArrayList<int[]> solutions = new Backtracking(8).calculate();
+        repository.replaceSolutions("Sequential", solutions, 5);
+        repository.replaceSolutions("Sequential", solutions, 7);
+
+        assertEquals(92, repository.findSolutions("Sequential").size());
+        assertEquals(7, repository.findSolutions("Sequential").get(0).getTimeTaken());
+        assertEquals(0, repository.findSolutions("Threaded").size());
+    }
+
+    /**
+     * Test a solution is claimed once and the reset clears every claim.
+     */
+    @Test
+    void testClaimAndReset() {
+        ArrayList<int[]> solutions = new Backtracking(8).calculate();
+        repository.replaceSolutions("Sequential", solutions, 5);
+
+        assertTrue(repository.claimSolution(solutions.get(0), "Ranu"));
+        assertFalse(repository.claimSolution(solutions.get(0), "Nadu"));  // Already claimed
+        assertEquals(1, repository.resetRecognized());
+        assertTrue(repository.claimSolution(solutions.get(0), "Nadu"));
+    }
+}
@@ -4,7 +4,7 @@ import models.entities.EightQueensResult;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import dev.morphia.Datastore;
-import java.lang.reflect.Field;
+import utils.DatabaseConnection;
 
 /**
  * Essential unit tests for EightQueensService.
@@ -14,17 +14,10 @@ public class EightQueensServiceTest {
     private EightQueensService service;
     private Datastore datastore;
 
-    // Helper to access private datastore via reflection
-    private Datastore getPrivateDatastore() throws Exception {
-        Field field = EightQueensService.class.getDeclaredField("datastore");
-        field.setAccessible(true);
-        return (Datastore) field.get(service);
-    }
-
     @BeforeEach
     public void setUp() throws Exception {
         service = new EightQueensService();
-        datastore = getPrivateDatastore();
+        datastore = DatabaseConnection.getInstance().getDatastore();  // Datastore the service writes to
      
     }
 
@@ -74,9 +67,24 @@ public class EightQueensServiceTest {
         String player = "Alice";
         service.savePlayerSolution(valid, player);
         assertTrue(service.isSolutionRecognized(valid), "Solution should be marked as recognized");
+        service.flush();  // Wait for the asynchronous database write
         EightQueensResult result = datastore.find(EightQueensResult.class)
             .filter("positions", valid).first();
         assertNotNull(result, "Result should exist in DB");
         assertEquals(player, result.getPlayerName(), "Player name should be saved");
     }
+
+    /**
+     * Test a claim still queued for the database is kept when the other algorithm's solutions are loaded.
+     */
+    @Test
+    public void testClaimKeptWhenSolutionsReloaded() {
+        service.findAllSolutionsSequential();
+        service.resetAllRecognizedSolutions();
+        int[] valid = {0, 4, 7, 5, 2, 6, 1, 3};
+        service.savePlayerSolution(valid, "Alice");
+        service.findAllSolutionsThreaded();  // Rebuilds the index from the database
+        assertTrue(service.isSolutionRecognized(valid), "Claim should survive the reload");
+        assertEquals(1, service.getSolutionCount(), "Solution count should not go down");
+    }
 }
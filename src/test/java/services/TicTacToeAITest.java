@@ -5,9 +5,16 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.dsa.tictactoe.BitBoard;
+import utils.dsa.tictactoe.OpeningBook;
+import utils.dsa.tictactoe.SearchResult;
+import utils.dsa.tictactoe.ZobristHash;
 
 public class TicTacToeAITest {
     private TicTacToeAI ai;  // AI object for the Tic-Tac-Toe game
+    private TicTacToeAI horizonAi;  // Alpha-Beta with the depth limit of Minimax, so both see the same positions
     private char[][] board;  // 5x5 board for the Tic-Tac-Toe game
     private static final int SIZE = 5;  // Size of the Tic-Tac-Toe board
 
@@ -15,6 +22,7 @@ public class TicTacToeAITest {
     @BeforeEach
     void setUp() {
         ai = new TicTacToeAI();  // Instantiate AI
+        horizonAi = new TicTacToeAI(TicTacToeAI.DEFAULT_TIME_BUDGET_MS * 10, null, TicTacToeAI.MAX_DEPTH, OpeningBook.getDefault());
         board = new char[SIZE][SIZE];  // Initialize board with the defined size
         initializeEmptyBoard();  // Method call to initialize the board to empty state
     }
@@ -98,4 +106,161 @@ public class TicTacToeAITest {
         assertEquals(1, move[0]);
         assertEquals(4, move[1]);
     }
+
+    // Test case to check if the AI detects column and diagonal wins
+    @Test
+    void testCheckWin_ColumnAndDiagonals() {
+        // Setup a column win for 'O'
+        for (int i = 0; i < 5; i++) {
+            board[i][1] = 'O';  // Fill the entire column 1 with 'O'
+        }
+        assertTrue(ai.checkWin(board, 'O'));
+
+        // Setup an almost complete anti-diagonal for 'X'
+        initializeEmptyBoard();
+        for (int i = 0; i < 4; i++) {
+            board[i][4 - i] = 'X';  // Fill 4 of 5 anti-diagonal cells with 'X'
+        }
+        assertFalse(ai.checkWin(board, 'X'));
+
+        board[4][0] = 'X';  // Complete the anti-diagonal
+        assertTrue(ai.checkWin(board, 'X'));
+    }
+
+    // Test case to check if the AI detects a full board
+    @Test
+    void testIsBoardFull_AllCellsFilled() {
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                board[i][j] = (i + j) % 2 == 0 ? 'X' : 'O';  // Fill the board with both players
+            }
+        }
+
+        assertTrue(ai.isBoardFull(board));
+    }
+
+    // Test case to check both algorithms choose the same move
+    @Test
+    void testMinimaxAndAlphaBetaAgree() {
+        // Setup a position where 'X' threatens the main diagonal
+        board[0][0] = 'X'; board[1][1] = 'X'; board[2][2] = 'X';
+        board[0][4] = 'O'; board[4][0] = 'O';
+
+        assertArrayEquals(ai.getBestMoveWithMinimax(board), horizonAi.getBestMoveWithAlphaBeta(board));
+    }
+
+    // Test case to check repeated searches reusing the table choose the same moves as Minimax
+    @Test
+    void testAlphaBetaWithTableMatchesMinimax() {
+        board[2][2] = 'X'; board[0][0] = 'O';
+        board[2][3] = 'X'; board[4][4] = 'O';
+
+        int[] expected = ai.getBestMoveWithMinimax(board);
+        assertArrayEquals(expected, horizonAi.getBestMoveWithAlphaBeta(board));
+        assertArrayEquals(expected, horizonAi.getBestMoveWithAlphaBeta(board));  // Second search starts with a filled table
+
+        board[expected[0]][expected[1]] = 'O';
+        board[1][1] = 'X';
+        assertArrayEquals(ai.getBestMoveWithMinimax(board), horizonAi.getBestMoveWithAlphaBeta(board));
+    }
+
+    // Test case to check a small time budget still returns an empty cell in time
+    @Test
+    void testAlphaBetaTimeBudget() {
+        TicTacToeAI fastAi = new TicTacToeAI(1);  // 1 ms per move
+        board[0][0] = 'X'; board[1][1] = 'O';
+        board[2][3] = 'X'; board[3][3] = 'O';  // Four marks, searched without the opening book
+
+        long start = System.currentTimeMillis();
+        int[] move = fastAi.getBestMoveWithAlphaBeta(board);
+        long timeTaken = System.currentTimeMillis() - start;
+
+        assertEquals(' ', board[move[0]][move[1]]);  // The move is on an empty cell
+        assertTrue(timeTaken < 200);  // Stops close to the budget instead of finishing the search
+        assertThrows(IllegalArgumentException.class, () -> new TicTacToeAI(0));
+    }
+
+    // Test case to check the parallel root search chooses the same moves as the search on one thread.
+    // Both are pinned to MAX_DEPTH with a large budget, under the game's budget they can complete different depths
+    @Test
+    void testParallelAlphaBetaMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TicTacToeAI parallelAi = new TicTacToeAI(TicTacToeAI.DEFAULT_TIME_BUDGET_MS * 10, pool, TicTacToeAI.MAX_DEPTH, OpeningBook.getDefault());
+            int[][] moves = {{2, 2}, {1, 1}, {0, 2}, {4, 2}, {2, 0}, {2, 4}};  // Human and AI moves in turn
+
+            for (int i = 0; i < moves.length; i++) {
+                board[moves[i][0]][moves[i][1]] = i % 2 == 0 ? 'X' : 'O';
+                assertArrayEquals(horizonAi.getBestMoveWithAlphaBeta(board), parallelAi.getBestMoveWithAlphaBeta(board));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Test case to check the evaluation makes the AI take the center of an empty board
+    @Test
+    void testEmptyBoardTakesCenter() {
+        assertArrayEquals(new int[]{2, 2}, ai.getBestMoveWithAlphaBeta(board));
+        assertArrayEquals(new int[]{2, 2}, ai.getBestMoveWithMinimax(board));
+    }
+
+    // Test case to check the opening book answers early positions with the moves of a deeper search
+    @Test
+    void testOpeningBookMatchesDeepSearch() {
+        TicTacToeAI deepAi = new TicTacToeAI(60_000, null, 6, null);  // Search used to generate the book
+        board[0][1] = 'X';
+        int[] bookMove = ai.getBestMoveWithAlphaBeta(board);
+        int aiMask = BitBoard.toMask(board, 'O');
+        int humanMask = BitBoard.toMask(board, 'X');
+        int deepCell = deepAi.bestCell(aiMask, humanMask);
+
+        // A symmetric position can have an equally good cell in another orientation, compare the boards after the move
+        board[bookMove[0]][bookMove[1]] = 'O';
+        long[] bookHashes = new long[ZobristHash.SYMMETRY_COUNT];
+        ZobristHash.hashes(BitBoard.toMask(board, 'O'), humanMask, bookHashes);
+        long[] deepHashes = new long[ZobristHash.SYMMETRY_COUNT];
+        ZobristHash.hashes(aiMask | (1 << deepCell), humanMask, deepHashes);
+        assertEquals(ZobristHash.key(deepHashes, ZobristHash.canonicalSymmetry(deepHashes), false),
+                ZobristHash.key(bookHashes, ZobristHash.canonicalSymmetry(bookHashes), false));
+    }
+
+    // Test case to check the search statistics returned with each move
+    @Test
+    void testSearchStatistics() {
+        board[0][0] = 'X'; board[1][1] = 'O';
+        board[2][3] = 'X'; board[3][3] = 'O';  // Four marks, searched without the opening book
+        SearchResult minimax = ai.searchWithMinimax(board);
+        SearchResult alphaBeta = horizonAi.searchWithAlphaBeta(board);
+
+        assertArrayEquals(minimax.getMove(), alphaBeta.getMove());
+        assertEquals(4, minimax.getDepth());
+        assertEquals(4, alphaBeta.getDepth());
+        assertTrue(alphaBeta.getCutoffs() > 0);
+        assertTrue(alphaBeta.getTableHits() <= alphaBeta.getNodes());
+        assertTrue(alphaBeta.getElapsedNanos() > 0);
+        // Alpha-Beta prunes positions that Minimax searches
+        assertTrue(alphaBeta.getNodes() < minimax.getNodes());
+
+        // The game's search stops at its depth limit before the time budget
+        SearchResult game = ai.searchWithAlphaBeta(board);
+        assertEquals(TicTacToeAI.GAME_MAX_DEPTH, game.getDepth());
+
+        // Without the depth limit the search deepens until the time budget and reuses the table
+        SearchResult deep = new TicTacToeAI(TicTacToeAI.DEFAULT_TIME_BUDGET_MS).searchWithAlphaBeta(board);
+        assertTrue(deep.getDepth() > TicTacToeAI.GAME_MAX_DEPTH);
+        assertTrue(deep.getTableHits() > 0);
+
+        // A fixed depth search is not stopped by time and does not use the book
+        SearchResult fixed = TicTacToeAI.fixedDepth(TicTacToeAI.MAX_DEPTH, null).searchWithAlphaBeta(board);
+        assertArrayEquals(alphaBeta.getMove(), fixed.getMove());
+        assertEquals(TicTacToeAI.MAX_DEPTH, fixed.getDepth());
+        assertTrue(TicTacToeAI.fixedDepth(2, null).searchWithAlphaBeta(new char[SIZE][SIZE]).getNodes() > 0);
+        assertThrows(IllegalArgumentException.class, () -> TicTacToeAI.fixedDepth(0, null));
+
+        // A book move is answered without a search
+        SearchResult book = ai.searchWithAlphaBeta(new char[SIZE][SIZE]);
+        assertEquals(0, book.getNodes());
+        assertEquals(0, book.getDepth());
+    }
 }
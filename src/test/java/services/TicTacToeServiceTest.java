@@ -5,12 +5,20 @@ import dev.morphia.DeleteOptions;  // Import Morphia's DeleteOptions for deletin
 import dev.morphia.Morphia;  // Import Morphia to create a Datastore
 import com.mongodb.client.MongoClients;  // Import MongoDB client to connect to MongoDB
 import models.entities.TicTacToeResult;  // Import the TicTacToeResult model
+import utils.ResultWriter;  // Import the writer that saves the results in the background
+import utils.dsa.tictactoe.SearchResult;  // Import the statistics of an AI search
 import org.junit.jupiter.api.*;  // Import JUnit 5 annotations and assertions
+import org.junit.jupiter.api.io.TempDir;  // Import the temporary directory of the spill file
+import java.nio.file.Path;  // Import Path for the spill file
 import static org.junit.jupiter.api.Assertions.*;  // Import assertions
 
 class TicTacToeServiceTest { // Integration test class for TicTacToeService
     private static Datastore datastore;  // Declare the Datastore instance to interact with MongoDB
     private TicTacToeService service;  // Declare the service instance which will be tested
+    private ResultWriter resultWriter;  // Writer of the results, owned by the test
+
+    @TempDir
+    Path spillDirectory;  // Directory of the results spilled while the database is unreachable
 
     // Setup method to initialize the database connection before all tests
     @BeforeAll
@@ -32,14 +40,23 @@ class TicTacToeServiceTest { // Integration test class for TicTacToeService
         // Delete all TicTacToeResult documents in the database before each test
         datastore.find(TicTacToeResult.class).delete(new DeleteOptions().multi(true));
         // Initialize the service instance that will be tested
-        service = new TicTacToeService(datastore);
+        resultWriter = new ResultWriter(datastore, spillDirectory.resolve("pending-tictactoe-results.jsonl"));
+        service = new TicTacToeService(datastore, resultWriter);
+    }
+
+    // Stop the writer of each test so its thread does not outlive the test
+    @AfterEach
+    void closeWriter() {
+        resultWriter.close();
     }
 
     // Test case to verify that the saveResult method persists the result to the database
     @Test
     void saveResult_ShouldPersistToDatabase() {
         // Call the saveResult method of the service to store a result in the database
-        service.saveResult("Ranu", 2, 3, "Minimax", 150L, true);
+        service.saveResult("Ranu", 2, 3, "Minimax", new SearchResult(13, 420, 0, 0, 4, 150_000_000L), true);
+        // Wait for the queued result to be written
+        service.flush();
         
         // Query the database to retrieve the TicTacToeResult for player "Ranu"
         TicTacToeResult result = datastore.find(TicTacToeResult.class)
@@ -51,5 +68,39 @@ class TicTacToeServiceTest { // Integration test class for TicTacToeService
         // Assert that the move row and column match the values passed to saveResult
         assertEquals(2, result.getMoveRow());
         assertEquals(3, result.getMoveCol());
+        // Assert that the statistics of the search are saved
+        assertEquals(150, result.getTimeTakenMs());
+        assertEquals(150_000_000L, result.getTimeTakenNanos());
+        assertEquals(420, result.getNodes());
+        assertEquals(4, result.getSearchDepth());
+    }
+
+    // Test case to verify the average time is computed over the results of one algorithm
+    @Test
+    void getAverageTimeForAlgorithm_ShouldAverageMatchingResults() {
+        service.saveResult("Computer", 0, 0, "Minimax", new SearchResult(0, 10, 0, 0, 4, 100_000_000L), true);
+        service.saveResult("Computer", 0, 1, "Minimax", new SearchResult(1, 10, 0, 0, 4, 300_000_000L), true);
+        service.saveResult("Computer", 0, 2, "AlphaBeta", new SearchResult(2, 10, 0, 0, 4, 900_000_000L), true);
+        service.flush();
+
+        // Assert that only the Minimax results are averaged
+        assertEquals(200, service.getAverageTimeForAlgorithm("Minimax"));
+        // Assert that an algorithm without results averages 0
+        assertEquals(0, service.getAverageTimeForAlgorithm("Unknown"));
+    }
+
+    // Test case to verify the win rate counts the games and wins of one player
+    @Test
+    void getPlayerWinRate_ShouldCountWins() {
+        service.saveResult("Ranu", 0, 0, "Minimax", null, true);
+        service.saveResult("Ranu", 0, 1, "Minimax", null, false);
+        service.saveResult("Ranu", 0, 2, "Minimax", null, false);
+        service.saveResult("Nadu", 0, 3, "Minimax", null, true);
+        service.flush();
+
+        // Assert that one of the three games of the player is a win
+        assertEquals(1.0 / 3, service.getPlayerWinRate("Ranu"), 1e-9);
+        // Assert that a player without games has a win rate of 0
+        assertEquals(0, service.getPlayerWinRate("Unknown"));
     }
 }
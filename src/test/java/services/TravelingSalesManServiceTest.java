@@ -0,0 +1,98 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.tsp.TspAlgorithm;
+import utils.dsa.tsp.TspResult;
+
+public class TravelingSalesManServiceTest {
+	private TravelingSalesManService service;
+	private List<String> destinations;
+
+	@BeforeEach
+	public void setUp() {
+		service = new TravelingSalesManService();
+		service.initNewRound();
+		destinations = new ArrayList<>();
+		for (char city = 'B'; city <= 'J'; city++) {
+			destinations.add(String.valueOf(city));
+		}
+	}
+
+	/**
+	 * Test the genetic route is improved with local search, the second solve
+	 * gets the same genetic route from the cache
+	 */
+	@Test
+	public void testGeneticRouteImprovedWithLocalSearch() {
+		assertTrue(service.isLocalSearchEnabled());
+
+		service.setLocalSearchEnabled(false);
+		TspResult<String> genetic = service.solve(TspAlgorithm.GENETIC, "A", destinations, null, null);
+		service.setLocalSearchEnabled(true);
+		TspResult<String> improved = service.solve(TspAlgorithm.GENETIC, "A", destinations, null, null);
+
+		assertEquals(1, service.getCache().getHits());
+		assertTrue(improved.getDistance() <= genetic.getDistance());
+		assertEquals(this.routeDistance(improved.getRoute()), improved.getDistance(), 0.001);
+		assertEquals(improved.getDistance(), service.getCalculatedDistance(), 0.001);
+		assertEquals(service.bestRouteToString(improved.getRoute()), service.getCalculatedPath());
+
+		// the improved route still visits every city once from home to home
+		List<String> route = improved.getRoute();
+		assertEquals(destinations.size() + 2, route.size());
+		assertEquals("A", route.get(0));
+		assertEquals("A", route.get(route.size() - 1));
+		assertTrue(new HashSet<>(route.subList(1, route.size() - 1)).containsAll(destinations));
+	}
+
+	/**
+	 * Test the exact algorithms agree on the optimal route with local search enabled
+	 */
+	@Test
+	public void testExactRoutesAgree() {
+		TspResult<String> heldKarp = service.solve(TspAlgorithm.HELD_KARP, "A", destinations, null, null);
+		TspResult<String> branchAndBound = service.solve(TspAlgorithm.BRANCH_AND_BOUND, "A", destinations, null, null);
+
+		assertEquals(branchAndBound.getDistance(), heldKarp.getDistance(), 0.001);
+		assertEquals(this.routeDistance(heldKarp.getRoute()), heldKarp.getDistance(), 0.001);
+	}
+
+	/**
+	 * Test a snapshot of the incremental table does not change with later
+	 * destinations and is returned by solve
+	 */
+	@Test
+	public void testIncrementalSnapshot() {
+		service.addDestination("A", "B");
+		service.addDestination("A", "C");
+		TspResult<String> snapshot = service.getIncrementalResult(TspAlgorithm.HELD_KARP, "A", List.of("B", "C"));
+		List<String> route = new ArrayList<>(snapshot.getRoute());
+
+		service.addDestination("A", "D");
+		assertEquals(route, snapshot.getRoute());
+		assertNull(service.getIncrementalResult(TspAlgorithm.HELD_KARP, "A", List.of("B", "C")));
+		assertNull(service.getIncrementalResult(TspAlgorithm.GENETIC, "A", List.of("B", "C", "D")));
+
+		TspResult<String> result = service.solve(TspAlgorithm.HELD_KARP, "A", List.of("B", "C"), snapshot, null, null);
+		assertEquals(route, result.getRoute());
+		assertEquals(this.routeDistance(route), service.getCalculatedDistance(), 0.001);
+	}
+
+	private double routeDistance(List<String> route) {
+		double distance = 0;
+		for (int i = 0; i < route.size() - 1; i++) {
+			distance += service.getWeight(route.get(i), route.get(i + 1));
+		}
+		return distance;
+	}
+}
@@ -0,0 +1,138 @@
+package travelingsalesman.branchandbound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.branchandbound.BranchAndBound;
+import utils.dsa.bruteforce.BruteForce;
+import utils.dsa.graph.Graph;
+import utils.dsa.heldkarp.HeldKarp;
+
+public class BranchAndBoundTest {
+
+	/**
+	 * Test algorithm with three nodes
+	 */
+	@Test
+	public void testThreeNodes() {
+		Graph<String> graph = new Graph<>();
+		graph.addEdge("A", "B", 10, false);
+		graph.addEdge("A", "C", 15, false);
+		graph.addEdge("B", "C", 20, false);
+
+		BranchAndBound<String> bb = new BranchAndBound<>(graph);
+		bb.calculate(Arrays.asList("B", "C"), "A");
+
+		assertEquals(45.0, bb.getMinDistance());
+		assertEquals(4, bb.getBestRoute().size());
+		assertEquals("A", bb.getBestRoute().get(0));
+		assertEquals("A", bb.getBestRoute().get(3));
+	}
+
+	/**
+	 * Test algorithm against brute force on random directed graphs
+	 */
+	@Test
+	public void testMatchesBruteForce() {
+		Random rand = new Random(11);
+		for (int round = 0; round < 5; round++) {
+			Graph<String> graph = this.randomGraph(8, rand, true);
+			List<String> selected = new ArrayList<>(Arrays.asList("B", "C", "D", "E", "F", "G", "H"));
+
+			BruteForce<String> bf = new BruteForce<>(graph);
+			bf.permute(selected, "A", 0);
+
+			BranchAndBound<String> bb = new BranchAndBound<>(graph);
+			bb.calculate(selected, "A");
+
+			assertEquals(bf.getMinDistance(), bb.getMinDistance(), 0.001);
+			assertEquals(bb.getMinDistance(), this.routeDistance(graph, bb.getBestRoute()), 0.001);
+		}
+	}
+
+	/**
+	 * Test algorithm with a game size round and compare with held karp
+	 */
+	@Test
+	public void testMatchesHeldKarpOnGameRound() {
+		Graph<String> graph = this.randomGraph(14, new Random(5), false);
+		List<String> cities = new ArrayList<>();
+		for (int i = 0; i < 14; i++) {
+			cities.add(String.valueOf((char) (i + 65)));
+		}
+
+		HeldKarp<String> hk = new HeldKarp<>(graph);
+		hk.calculate(cities);
+
+		BranchAndBound<String> bb = new BranchAndBound<>(graph);
+		bb.calculate(cities.subList(1, cities.size()), "A");
+
+		assertEquals(hk.getMinCost(), bb.getMinDistance(), 0.001);
+		assertEquals(15, bb.getBestRoute().size());
+	}
+
+	/**
+	 * Test algorithm returns max value when there is no route
+	 */
+	@Test
+	public void testUnreachableNode() {
+		Graph<String> graph = new Graph<>();
+		graph.addEdge("A", "B", 5, false);
+		graph.addVertex("C");
+
+		BranchAndBound<String> bb = new BranchAndBound<>(graph);
+		bb.calculate(Arrays.asList("B", "C"), "A");
+
+		assertEquals(Double.MAX_VALUE, bb.getMinDistance());
+		assertTrue(bb.getBestRoute().isEmpty());
+	}
+
+	/**
+	 * Test algorithm with invalid arguments
+	 */
+	@Test
+	public void testInvalidArgumentsThrows() {
+		Graph<String> graph = new Graph<>();
+		BranchAndBound<String> bb = new BranchAndBound<>(graph);
+
+		assertThrows(IllegalArgumentException.class, () -> new BranchAndBound<String>(null));
+		assertThrows(IllegalArgumentException.class, () -> bb.calculate(null, "A"));
+		assertThrows(IllegalArgumentException.class, () -> bb.calculate(List.of("B"), null));
+		assertThrows(IllegalArgumentException.class, () -> bb.calculate(List.of(), "A"));
+	}
+
+	/**
+	 * Create a complete graph with random weights
+	 */
+	private Graph<String> randomGraph(int size, Random rand, boolean isDirected) {
+		Graph<String> graph = new Graph<>();
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				if (i == j || (!isDirected && i < j))
+					continue;
+				graph.addEdge(String.valueOf((char) (i + 65)), String.valueOf((char) (j + 65)),
+						rand.nextInt(51) + 50, isDirected);
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Sum the edges of a route
+	 */
+	private double routeDistance(Graph<String> graph, List<String> route) {
+		double total = 0;
+		for (int i = 0; i < route.size() - 1; i++) {
+			total += graph.getEdge(route.get(i), route.get(i + 1)).getWeight();
+		}
+		return total;
+	}
+}
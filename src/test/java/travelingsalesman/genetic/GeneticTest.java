@@ -2,14 +2,18 @@ package travelingsalesman.genetic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import utils.dsa.bruteforce.BruteForce;
 import utils.dsa.genetic.Genetic;
 import utils.dsa.graph.Graph;
 
@@ -103,4 +107,58 @@ public class GeneticTest {
 		ga.calculate(selected, home);
 		assertEquals(Double.MAX_VALUE, ga.getMinDistance());
 	}
+
+	/**
+	 * Test the algorithm with several islands finds the optimal route of a small
+	 * graph
+	 */
+	@Test
+	public void testGeneticAlgorithmIslandsFindOptimalRoute() {
+		graph = new Graph<>();
+		Random rand = new Random(9);
+		List<String> cities = Arrays.asList("A", "B", "C", "D", "E", "F");
+		for (int i = 0; i < cities.size(); i++) {
+			for (int j = 0; j < i; j++) {
+				graph.addEdge(cities.get(i), cities.get(j), rand.nextInt(51) + 50, false);
+			}
+		}
+
+		BruteForce<String> bf = new BruteForce<>(graph);
+		bf.permute(new ArrayList<>(cities.subList(1, cities.size())), "A", 0);
+
+		ga = new Genetic<>(graph, 50, 200, 0.1);
+		ga.setIslandCount(4);
+		ga.setMigrationInterval(20);
+		ga.calculate(cities.subList(1, cities.size()), "A");
+
+		assertEquals(bf.getMinDistance(), ga.getMinDistance(), 0.001);
+		assertEquals(7, ga.getBestRoute().size());
+	}
+
+	/**
+	 * Test the islands do not depend on the machine and a population smaller
+	 * than the island count is still split
+	 */
+	@Test
+	public void testGeneticAlgorithmSmallPopulationSplit() {
+		assertEquals(Genetic.DEFAULT_ISLAND_COUNT, ga.getIslandCount());
+
+		ga = new Genetic<>(graph, 3, 50, 0.1);
+		ga.setIslandCount(8);
+		ga.calculate(Arrays.asList("B", "C"), "A");
+
+		assertEquals(6, ga.getMinDistance(), 0.001);
+		assertEquals(4, ga.getBestRoute().size());
+	}
+
+	/**
+	 * Test the algorithm parameters are validated
+	 */
+	@Test
+	public void testGeneticAlgorithmInvalidParametersThrows() {
+		assertThrows(IllegalArgumentException.class, () -> new Genetic<>(graph, 0, 500, 0.05));
+		assertThrows(IllegalArgumentException.class, () -> new Genetic<>(graph, 100, -1, 0.05));
+		assertThrows(IllegalArgumentException.class, () -> new Genetic<>(graph, 100, 500, 1.5));
+		assertThrows(IllegalArgumentException.class, () -> ga.setIslandCount(0));
+	}
 }
@@ -0,0 +1,90 @@
+package travelingsalesman.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.graph.DistanceMatrix;
+import utils.dsa.graph.Graph;
+
+public class DistanceMatrixTest {
+	private Graph<String> graph;
+
+	/**
+	 * Initialization of the graph object
+	 */
+	@BeforeEach
+	public void setUp() {
+		graph = new Graph<>();
+		graph.addEdge("A", "B", 10, false);
+		graph.addEdge("A", "C", 15, true);
+		graph.addEdge("B", "C", 20, false);
+	}
+
+	/**
+	 * Test compiled weights are same as the graph edges
+	 */
+	@Test
+	public void testWeightsMatchGraph() {
+		DistanceMatrix<String> matrix = graph.toDistanceMatrix(Arrays.asList("A", "B", "C"));
+
+		assertEquals(3, matrix.size());
+		assertEquals(10.0, matrix.getWeight(0, 1));
+		assertEquals(10.0, matrix.getWeight(1, 0));
+		assertEquals(15.0, matrix.getWeight(0, 2));
+		assertEquals(20.0, matrix.getWeight(2, 1));
+	}
+
+	/**
+	 * Test missing edges are stored as positive infinity
+	 */
+	@Test
+	public void testMissingEdge() {
+		DistanceMatrix<String> matrix = graph.toDistanceMatrix(Arrays.asList("A", "B", "C", "D"));
+
+		assertFalse(matrix.hasEdge(2, 0));
+		assertEquals(Double.POSITIVE_INFINITY, matrix.getWeight(2, 0));
+		assertFalse(matrix.hasEdge(3, 0));
+		assertTrue(matrix.hasEdge(0, 2));
+	}
+
+	/**
+	 * Test vertex to index mapping follows the given vertex order
+	 */
+	@Test
+	public void testVertexIndex() {
+		DistanceMatrix<String> matrix = graph.toDistanceMatrix(Arrays.asList("C", "A"));
+
+		assertEquals(0, matrix.indexOf("C"));
+		assertEquals(1, matrix.indexOf("A"));
+		assertEquals(-1, matrix.indexOf("B"));
+		assertEquals("A", matrix.getVertex(1));
+		assertEquals(15.0, matrix.getWeight(1, 0));
+	}
+
+	/**
+	 * Test repeated vertices share the same weights
+	 */
+	@Test
+	public void testRepeatedVertex() {
+		DistanceMatrix<String> matrix = graph.toDistanceMatrix(Arrays.asList("A", "B", "A"));
+
+		assertEquals(10.0, matrix.getWeight(2, 1));
+		assertEquals(10.0, matrix.getWeight(1, 2));
+	}
+
+	/**
+	 * Test when null parse to the constructor
+	 */
+	@Test
+	public void testNullArgumentsThrowsError() {
+		assertThrows(IllegalArgumentException.class, () -> new DistanceMatrix<String>(null, Arrays.asList("A")));
+		assertThrows(IllegalArgumentException.class, () -> new DistanceMatrix<String>(graph, null));
+	}
+}
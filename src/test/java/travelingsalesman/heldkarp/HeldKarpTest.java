@@ -2,12 +2,18 @@ package travelingsalesman.heldkarp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
+import utils.dsa.bruteforce.BruteForce;
 import utils.dsa.graph.Graph;
 import utils.dsa.heldkarp.HeldKarp;
 
@@ -95,4 +101,82 @@ public class HeldKarpTest {
 		});
 
 	}
+
+	/**
+	 * Test the algorithm against brute force with 9 random cities
+	 */
+	@Test
+	public void testHeldKarpMatchesBruteForce() {
+		Graph<String> graph = new Graph<>();
+		Random rand = new Random(7);
+		List<String> cities = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			cities.add(String.valueOf((char) (i + 65)));
+		}
+		for (int i = 0; i < cities.size(); i++) {
+			for (int j = 0; j < i; j++) {
+				graph.addEdge(cities.get(i), cities.get(j), rand.nextInt(51) + 50, false);
+			}
+		}
+
+		BruteForce<String> bruteForce = new BruteForce<>(graph);
+		bruteForce.permute(new ArrayList<>(cities.subList(1, cities.size())), cities.get(0), 0);
+
+		HeldKarp<String> tsp = new HeldKarp<>(graph, new ForkJoinPool(2));
+		tsp.calculate(cities);
+
+		assertEquals(bruteForce.getMinDistance(), tsp.getMinCost(), 0.001);
+		assertEquals(cities.size() + 1, tsp.getBestRoute().size());
+	}
+
+	/**
+	 * Test the algorithm with 18 cities on a circle where layers are split between
+	 * workers. The shortest route goes around the circle
+	 */
+	@Test
+	public void testHeldKarpCircleCities() {
+		Graph<Integer> graph = new Graph<>();
+		int n = 18;
+		List<Integer> cities = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			cities.add(i);
+		}
+		// shuffle the labels so the route is not found in index order
+		Collections.shuffle(cities, new Random(3));
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				double angle = 2 * Math.PI * (cities.get(i) - cities.get(j)) / n;
+				graph.addEdge(cities.get(i), cities.get(j), 2 * Math.abs(Math.sin(angle / 2)), false);
+			}
+		}
+
+		HeldKarp<Integer> tsp = new HeldKarp<>(graph);
+		tsp.calculate(cities);
+
+		List<Integer> route = tsp.getBestRoute();
+		assertEquals(2 * n * Math.sin(Math.PI / n), tsp.getMinCost(), 0.000001);
+		assertEquals(n + 1, route.size());
+		assertEquals(cities.get(0), route.get(0));
+		assertEquals(cities.get(0), route.get(n));
+		for (int i = 0; i < n; i++) {
+			int step = Math.floorMod(route.get(i + 1) - route.get(i), n);
+			assertTrue(step == 1 || step == n - 1, "route should go around the circle");
+		}
+	}
+
+	/**
+	 * Test the algorithm with too many nodes
+	 */
+	@Test
+	public void testHeldKarpTooManyNodes() {
+		Graph<Integer> graph = new Graph<>();
+		List<Integer> cities = new ArrayList<>();
+		for (int i = 0; i <= HeldKarp.MAX_NODES; i++) {
+			cities.add(i);
+		}
+		HeldKarp<Integer> tsp = new HeldKarp<>(graph);
+		assertThrows(IllegalArgumentException.class, () -> {
+			tsp.calculate(cities);
+		});
+	}
 }
@@ -0,0 +1,84 @@
+package travelingsalesman.heldkarp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.graph.Graph;
+import utils.dsa.heldkarp.HeldKarp;
+import utils.dsa.heldkarp.IncrementalHeldKarp;
+import utils.dsa.tsp.TspResult;
+
+public class IncrementalHeldKarpTest {
+
+	/**
+	 * Test every appended city gives the same route as a full calculation
+	 */
+	@Test
+	public void testMatchesFullCalculation() {
+		Random rand = new Random(17);
+		for (int round = 0; round < 5; round++) {
+			Graph<Integer> graph = new Graph<>();
+			for (int i = 0; i < 12; i++) {
+				for (int j = 0; j < 12; j++) {
+					if (i != j)
+						graph.addEdge(i, j, rand.nextInt(91) + 10, true);
+				}
+			}
+
+			IncrementalHeldKarp<Integer> incremental = new IncrementalHeldKarp<>(graph, 0);
+			List<Integer> cities = new ArrayList<>(List.of(0));
+			for (int city = 1; city < 12; city++) {
+				TspResult<Integer> result = incremental.addNode(city);
+				cities.add(city);
+
+				HeldKarp<Integer> heldKarp = new HeldKarp<>(graph);
+				heldKarp.calculate(cities);
+				assertEquals(heldKarp.getMinCost(), result.getDistance(), 0.001);
+				assertEquals(heldKarp.getBestRoute(), result.getRoute());
+			}
+		}
+	}
+
+	/**
+	 * Test a city without a way back has no route until another city links it
+	 */
+	@Test
+	public void testMissingEdges() {
+		Graph<String> graph = new Graph<>();
+		graph.addEdge("A", "B", 5, true);
+		graph.addEdge("B", "C", 5, true);
+		graph.addEdge("C", "A", 5, true);
+
+		IncrementalHeldKarp<String> incremental = new IncrementalHeldKarp<>(graph, "A");
+		TspResult<String> result = incremental.addNode("B");
+		assertTrue(result.getRoute().isEmpty());
+		assertEquals(Double.POSITIVE_INFINITY, result.getDistance());
+
+		result = incremental.addNode("C");
+		assertEquals(List.of("A", "B", "C", "A"), result.getRoute());
+		assertEquals(15.0, result.getDistance(), 0.001);
+	}
+
+	/**
+	 * Test invalid nodes
+	 */
+	@Test
+	public void testInvalidNodesThrow() {
+		Graph<String> graph = new Graph<>();
+		graph.addEdge("A", "B", 5, false);
+		IncrementalHeldKarp<String> incremental = new IncrementalHeldKarp<>(graph, "A");
+		incremental.addNode("B");
+
+		assertThrows(IllegalArgumentException.class, () -> new IncrementalHeldKarp<String>(null, "A"));
+		assertThrows(IllegalArgumentException.class, () -> incremental.addNode(null));
+		assertThrows(IllegalArgumentException.class, () -> incremental.addNode("A"));
+		assertThrows(IllegalArgumentException.class, () -> incremental.addNode("B"));
+	}
+}
@@ -0,0 +1,142 @@
+package travelingsalesman.localsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.graph.Graph;
+import utils.dsa.heldkarp.HeldKarp;
+import utils.dsa.localsearch.LocalSearch;
+
+public class LocalSearchTest {
+
+	/**
+	 * Test local search untangles a shuffled route of cities on a circle
+	 */
+	@Test
+	public void testImproveCircleRoute() {
+		int n = 30;
+		Graph<Integer> graph = new Graph<>();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				double angle = 2 * Math.PI * (i - j) / n;
+				graph.addEdge(i, j, 2 * Math.abs(Math.sin(angle / 2)), false);
+			}
+		}
+
+		List<Integer> route = new ArrayList<>();
+		for (int i = 1; i < n; i++) {
+			route.add(i);
+		}
+		Collections.shuffle(route, new Random(4));
+		route.add(0, 0);
+		route.add(0);
+
+		LocalSearch<Integer> localSearch = new LocalSearch<>(graph);
+		localSearch.improve(route);
+
+		List<Integer> improved = localSearch.getBestRoute();
+		assertEquals(n + 1, improved.size());
+		assertEquals(0, improved.get(0));
+		assertEquals(0, improved.get(n));
+		assertEquals(n, new HashSet<>(improved).size());
+		assertEquals(2 * n * Math.sin(Math.PI / n), localSearch.getMinDistance(), 0.000001);
+	}
+
+	/**
+	 * Test local search never returns a longer route than the given route
+	 */
+	@Test
+	public void testImproveRandomRoutes() {
+		Random rand = new Random(8);
+		List<String> cities = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			cities.add(String.valueOf((char) (i + 65)));
+		}
+
+		for (int round = 0; round < 10; round++) {
+			Graph<String> graph = new Graph<>();
+			for (int i = 0; i < cities.size(); i++) {
+				for (int j = 0; j < i; j++) {
+					graph.addEdge(cities.get(i), cities.get(j), rand.nextInt(51) + 50, false);
+				}
+			}
+
+			List<String> route = new ArrayList<>(cities.subList(1, cities.size()));
+			Collections.shuffle(route, rand);
+			route.add(0, "A");
+			route.add("A");
+			double before = this.routeDistance(graph, route);
+
+			LocalSearch<String> localSearch = new LocalSearch<>(graph);
+			localSearch.improve(route);
+			double after = localSearch.getMinDistance();
+
+			HeldKarp<String> heldKarp = new HeldKarp<>(graph);
+			heldKarp.calculate(cities);
+
+			assertTrue(after <= before);
+			assertTrue(after >= heldKarp.getMinCost() - 0.001);
+			assertEquals(after, this.routeDistance(graph, localSearch.getBestRoute()), 0.001);
+			assertEquals(new HashSet<>(cities), new HashSet<>(localSearch.getBestRoute()));
+		}
+	}
+
+	/**
+	 * Test local search moves a city with Or-opt on a directed graph
+	 */
+	@Test
+	public void testImproveDirectedRoute() {
+		Graph<String> graph = new Graph<>();
+		List<String> cities = Arrays.asList("A", "B", "C", "D", "E");
+		for (String source : cities) {
+			for (String destination : cities) {
+				if (!source.equals(destination))
+					graph.addEdge(source, destination, 10, true);
+			}
+		}
+		// cheap directed cycle A B C D E A
+		for (int i = 0; i < cities.size(); i++) {
+			graph.getEdge(cities.get(i), cities.get((i + 1) % cities.size())).setWeight(1);
+		}
+
+		LocalSearch<String> localSearch = new LocalSearch<>(graph);
+		localSearch.improve(Arrays.asList("A", "C", "B", "D", "E", "A"));
+
+		assertEquals(Arrays.asList("A", "B", "C", "D", "E", "A"), localSearch.getBestRoute());
+		assertEquals(5.0, localSearch.getMinDistance());
+	}
+
+	/**
+	 * Test local search with invalid routes
+	 */
+	@Test
+	public void testInvalidRouteThrows() {
+		Graph<String> graph = new Graph<>();
+		LocalSearch<String> localSearch = new LocalSearch<>(graph);
+
+		assertThrows(IllegalArgumentException.class, () -> new LocalSearch<String>(null));
+		assertThrows(IllegalArgumentException.class, () -> localSearch.improve(null));
+		assertThrows(IllegalArgumentException.class, () -> localSearch.improve(List.of("A", "B")));
+	}
+
+	/**
+	 * Sum the edges of a route
+	 */
+	private double routeDistance(Graph<String> graph, List<String> route) {
+		double total = 0;
+		for (int i = 0; i < route.size() - 1; i++) {
+			total += graph.getEdge(route.get(i), route.get(i + 1)).getWeight();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,112 @@
+package travelingsalesman.tsp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.TspAlgorithm;
+import utils.dsa.tsp.TspCache;
+import utils.dsa.tsp.TspResult;
+
+public class TspCacheTest {
+	private Graph<String> graph;
+
+	/**
+	 * Create a complete graph with random weights
+	 */
+	@BeforeEach
+	public void setUp() {
+		graph = new Graph<>();
+		Random rand = new Random(5);
+		for (int i = 0; i < 8; i++) {
+			for (int j = 0; j < i; j++) {
+				graph.addEdge(String.valueOf((char) (i + 65)), String.valueOf((char) (j + 65)),
+						rand.nextInt(51) + 50, false);
+			}
+		}
+	}
+
+	/**
+	 * Test the same cities in any order hit the cache
+	 */
+	@Test
+	public void testHitForSameCities() {
+		TspCache<String> cache = new TspCache<>();
+		TspResult<String> first = cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C", "D"), null,
+				null);
+		List<TspResult<String>> updates = new ArrayList<>();
+		TspResult<String> second = cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("D", "B", "C"), null,
+				updates::add);
+
+		assertSame(first, second);
+		assertEquals(List.of(first), updates);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	/**
+	 * Test other algorithms, home nodes and weights miss the cache
+	 */
+	@Test
+	public void testMissForDifferentKey() {
+		TspCache<String> cache = new TspCache<>();
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C", "D"), null, null);
+		cache.solve(graph, TspAlgorithm.BRUTE_FORCE, "A", List.of("B", "C", "D"), null, null);
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "B", List.of("A", "C", "D"), null, null);
+
+		graph.getEdge("A", "B").setWeight(1);
+		graph.getEdge("B", "A").setWeight(1);
+		TspResult<String> changed = cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C", "D"), null,
+				null);
+
+		assertEquals(0, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(TspAlgorithm.HELD_KARP.createSolver(graph).solve("A", List.of("B", "C", "D"), null, null)
+				.getDistance(), changed.getDistance(), 0.001);
+	}
+
+	/**
+	 * Test the least recently used route is evicted first
+	 */
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		TspCache<String> cache = new TspCache<>(2);
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C"), null, null);
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "D"), null, null);
+		// use the first route so the second one is the oldest
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C"), null, null);
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "E"), null, null);
+
+		assertEquals(2, cache.size());
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C"), null, null);
+		cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "D"), null, null);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+
+	/**
+	 * Test cancelled results are not stored
+	 */
+	@Test
+	public void testIncompleteResultIsNotCached() {
+		TspCache<String> cache = new TspCache<>();
+		CancellationToken token = new CancellationToken();
+		token.cancel();
+		TspResult<String> result = cache.solve(graph, TspAlgorithm.HELD_KARP, "A", List.of("B", "C", "D"), token,
+				null);
+
+		assertFalse(result.isComplete());
+		assertEquals(0, cache.size());
+		assertThrows(IllegalArgumentException.class, () -> new TspCache<String>(0));
+	}
+}
@@ -0,0 +1,112 @@
+package travelingsalesman.tsp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utils.dsa.graph.Graph;
+import utils.dsa.tsp.CancellationToken;
+import utils.dsa.tsp.TspAlgorithm;
+import utils.dsa.tsp.TspResult;
+
+public class TspSolverTest {
+	private Graph<String> graph;
+	private List<String> destinations;
+
+	/**
+	 * Create a complete graph with random weights
+	 */
+	@BeforeEach
+	public void setUp() {
+		graph = new Graph<>();
+		destinations = new ArrayList<>();
+		Random rand = new Random(21);
+		for (int i = 0; i < 14; i++) {
+			for (int j = 0; j < i; j++) {
+				graph.addEdge(String.valueOf((char) (i + 65)), String.valueOf((char) (j + 65)),
+						rand.nextInt(51) + 50, false);
+			}
+			if (i > 0)
+				destinations.add(String.valueOf((char) (i + 65)));
+		}
+	}
+
+	/**
+	 * Test every exact algorithm gives the same distance through the common
+	 * interface
+	 */
+	@Test
+	public void testExactAlgorithmsAgree() {
+		List<String> selected = destinations.subList(0, 7);
+		TspResult<String> expected = TspAlgorithm.BRUTE_FORCE.createSolver(graph).solve("A", selected, null, null);
+
+		for (TspAlgorithm algorithm : List.of(TspAlgorithm.BRANCH_AND_BOUND, TspAlgorithm.HELD_KARP)) {
+			TspResult<String> result = algorithm.createSolver(graph).solve("A", selected, null, null);
+			assertTrue(result.isComplete());
+			assertEquals(expected.getDistance(), result.getDistance(), 0.001);
+			assertEquals("A", result.getRoute().get(0));
+			assertEquals("A", result.getRoute().get(result.getRoute().size() - 1));
+		}
+	}
+
+	/**
+	 * Test progress updates only improve and the last one is the result
+	 */
+	@Test
+	public void testProgressIsImproving() {
+		for (TspAlgorithm algorithm : List.of(TspAlgorithm.BRANCH_AND_BOUND, TspAlgorithm.GENETIC)) {
+			List<TspResult<String>> updates = new ArrayList<>();
+			TspResult<String> result = algorithm.createSolver(graph).solve("A", destinations, null, updates::add);
+
+			assertFalse(updates.isEmpty());
+			for (int i = 1; i < updates.size(); i++) {
+				assertTrue(updates.get(i).getDistance() < updates.get(i - 1).getDistance());
+			}
+			assertEquals(result.getDistance(), updates.get(updates.size() - 1).getDistance(), 0.001);
+		}
+	}
+
+	/**
+	 * Test a deadline stops brute force with the best route found so far
+	 */
+	@Test
+	public void testDeadlineReturnsBestSoFar() {
+		CancellationToken token = new CancellationToken(50);
+		TspResult<String> result = TspAlgorithm.BRUTE_FORCE.createSolver(graph).solve("A", destinations, token,
+				null);
+
+		assertFalse(result.isComplete());
+		assertEquals(destinations.size() + 2, result.getRoute().size());
+		assertTrue(result.getDistance() < Double.MAX_VALUE);
+	}
+
+	/**
+	 * Test a cancelled held karp run returns an empty incomplete result
+	 */
+	@Test
+	public void testCancelledHeldKarp() {
+		CancellationToken token = new CancellationToken();
+		token.cancel();
+		TspResult<String> result = TspAlgorithm.HELD_KARP.createSolver(graph).solve("A", destinations, token, null);
+
+		assertFalse(result.isComplete());
+		assertTrue(result.getRoute().isEmpty());
+	}
+
+	/**
+	 * Test algorithm lookup by display name
+	 */
+	@Test
+	public void testAlgorithmDisplayName() {
+		assertEquals(TspAlgorithm.HELD_KARP, TspAlgorithm.fromDisplayName("Held Karp Algorithm"));
+		assertThrows(IllegalArgumentException.class, () -> TspAlgorithm.fromDisplayName("Unknown"));
+	}
+}
@@ -0,0 +1,71 @@
+package utils.dsa.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationTest {
+
+    @Test
+    void testOpenAndBlockedLines() {
+        Evaluation evaluation = new Evaluation();
+        evaluation.reset(0, 0);
+        assertEquals(0, evaluation.score());
+
+        // The center is on a row, a column and both diagonals
+        evaluation.play(ZobristHash.FIRST_PLAYER, 12);
+        assertEquals(4, evaluation.score());
+
+        // A second mark makes row 2 a line of two and opens column 0
+        evaluation.play(ZobristHash.FIRST_PLAYER, 10);
+        assertEquals(4 + 1 + 1 + 1 + 1, evaluation.score());
+
+        // The second player blocks row 2 and opens column 4 for itself
+        evaluation.play(ZobristHash.SECOND_PLAYER, 14);
+        assertEquals(1 + 1 + 1 + 1 - 1, evaluation.score());
+
+        // Undo restores the open row
+        evaluation.undo(ZobristHash.SECOND_PLAYER, 14);
+        assertEquals(8, evaluation.score());
+    }
+
+    @Test
+    void testIncrementalMatchesReset() {
+        Random rand = new Random(3);
+        Evaluation incremental = new Evaluation();
+        Evaluation full = new Evaluation();
+        for (int game = 0; game < 20; game++) {
+            int[] masks = new int[2];
+            incremental.reset(0, 0);
+            for (int move = 0; move < 12; move++) {
+                int empty = BitBoard.empty(masks[0] | masks[1]);
+                int cell;
+                do {
+                    cell = rand.nextInt(BitBoard.CELLS);
+                } while ((empty & (1 << cell)) == 0);
+                int player = move % 2;
+
+                int expected = incremental.scoreWith(player, cell);
+                incremental.play(player, cell);
+                masks[player] |= 1 << cell;
+                full.reset(masks[0], masks[1]);
+                assertEquals(full.score(), incremental.score());
+                assertEquals(expected, incremental.score());
+            }
+            // Undo every cell back to the empty board
+            for (int player = 0; player < 2; player++) {
+                for (int bits = masks[player]; bits != 0; bits &= bits - 1) {
+                    incremental.undo(player, Integer.numberOfTrailingZeros(bits));
+                }
+            }
+            assertEquals(0, incremental.score());
+        }
+    }
+
+    @Test
+    void testWinScores() {
+        assertTrue(Evaluation.isWin(Evaluation.WIN - 5));
+        assertTrue(Evaluation.isWin(5 - Evaluation.WIN));
+        assertFalse(Evaluation.isWin(12 * 64));
+    }
+}
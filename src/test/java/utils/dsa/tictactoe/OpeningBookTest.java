@@ -0,0 +1,65 @@
+package utils.dsa.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Write a book with one entry per position and load it back
+    private OpeningBook writeBook(int[][] positions, int[] cells) throws IOException {
+        long[] keys = new long[positions.length];
+        int[] canonicalCells = new int[positions.length];
+        long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+        for (int i = 0; i < positions.length; i++) {
+            ZobristHash.hashes(positions[i][0], positions[i][1], hashes);
+            int symmetry = ZobristHash.canonicalSymmetry(hashes);
+            keys[i] = ZobristHash.key(hashes, symmetry, false);
+            canonicalCells[i] = BitBoard.SYMMETRIES[symmetry][cells[i]];
+        }
+        Path file = tempDir.resolve("book.bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            OpeningBook.write(out, keys, canonicalCells);
+        }
+        return OpeningBook.load(file);
+    }
+
+    @Test
+    void testLookupOfSymmetricPositions() throws IOException {
+        int corner = BitBoard.bit(0, 0);
+        OpeningBook book = writeBook(new int[][]{{0, 0}, {0, corner}}, new int[]{12, 6});
+        assertEquals(2, book.size());
+        assertEquals(12, book.bestCell(0, 0));
+        assertEquals(6, book.bestCell(0, corner));
+
+        // Every rotation and reflection of the corner opening gets the matching cell
+        for (int symmetry = 0; symmetry < ZobristHash.SYMMETRY_COUNT; symmetry++) {
+            int human = BitBoard.transform(corner, symmetry);
+            assertEquals(BitBoard.transform(1 << 6, symmetry), 1 << book.bestCell(0, human));
+        }
+        assertEquals(OpeningBook.NOT_FOUND, book.bestCell(0, BitBoard.bit(1, 2)));
+    }
+
+    @Test
+    void testInvalidBook() throws IOException {
+        Path file = tempDir.resolve("invalid.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(file));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.write(Files.newOutputStream(file), new long[1], new int[]{25}));
+    }
+
+    @Test
+    void testDefaultBook() {
+        OpeningBook book = OpeningBook.getDefault();
+        assertNotNull(book);
+        assertSame(book, OpeningBook.getDefault());
+        assertNotEquals(OpeningBook.NOT_FOUND, book.bestCell(0, 0));  // The empty board is in the book
+    }
+}
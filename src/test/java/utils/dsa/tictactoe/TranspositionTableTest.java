@@ -0,0 +1,75 @@
+package utils.dsa.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testSymmetricPositionsShareKey() {
+        int first = BitBoard.bit(0, 1) | BitBoard.bit(2, 2);
+        int second = BitBoard.bit(1, 3);
+        long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+        ZobristHash.hashes(first, second, hashes);
+        long key = ZobristHash.key(hashes, ZobristHash.canonicalSymmetry(hashes), false);
+
+        long[] other = new long[ZobristHash.SYMMETRY_COUNT];
+        for (int symmetry = 0; symmetry < ZobristHash.SYMMETRY_COUNT; symmetry++) {
+            ZobristHash.hashes(BitBoard.transform(first, symmetry), BitBoard.transform(second, symmetry), other);
+            assertEquals(key, ZobristHash.key(other, ZobristHash.canonicalSymmetry(other), false));
+        }
+        // The side to move is part of the key
+        assertNotEquals(key, ZobristHash.key(hashes, ZobristHash.canonicalSymmetry(hashes), true));
+    }
+
+    @Test
+    void testToggleMatchesFullHash() {
+        long[] hashes = new long[ZobristHash.SYMMETRY_COUNT];
+        ZobristHash.hashes(BitBoard.bit(0, 0), 0, hashes);
+        ZobristHash.toggle(hashes, ZobristHash.SECOND_PLAYER, 24);
+
+        long[] expected = new long[ZobristHash.SYMMETRY_COUNT];
+        ZobristHash.hashes(BitBoard.bit(0, 0), BitBoard.bit(4, 4), expected);
+        assertArrayEquals(expected, hashes);
+
+        // Undoing the move restores the hashes
+        ZobristHash.toggle(hashes, ZobristHash.SECOND_PLAYER, 24);
+        ZobristHash.hashes(BitBoard.bit(0, 0), 0, expected);
+        assertArrayEquals(expected, hashes);
+    }
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(16);
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(5));
+
+        table.store(5, 3, TranspositionTable.LOWER_BOUND, -9, 12);
+        int entry = table.probe(5);
+        assertEquals(-9, TranspositionTable.score(entry));
+        assertEquals(3, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(12, TranspositionTable.move(entry));
+
+        table.clear();
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(5));
+    }
+
+    @Test
+    void testReplacement() {
+        TranspositionTable table = new TranspositionTable(16);
+        table.store(1, 4, TranspositionTable.EXACT, 7, 0);
+        // Same slot, shallower search of the same generation keeps the deeper entry
+        table.store(17, 2, TranspositionTable.EXACT, 3, 1);
+        assertEquals(7, TranspositionTable.score(table.probe(1)));
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(17));
+
+        // Entries of an older search are replaced
+        table.newSearch();
+        table.store(17, 2, TranspositionTable.EXACT, 3, 1);
+        assertEquals(3, TranspositionTable.score(table.probe(17)));
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(1));
+
+        assertEquals(16, new TranspositionTable(10).size());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+}